@@ -0,0 +1,196 @@
+package io.nuvalence.platform.notification.service.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkheads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the notification processing execution models against local stubs of user
+ * management and of the email provider, each answering after a fixed latency. Every notification
+ * makes one blocking call to each, through its bulkhead, as the send pipeline does.
+ *
+ * <p>The {@code virtual} execution model needs Java 21 or later, e.g. run with
+ * {@code -PjmhIncludes=NotificationProcessingBenchmark} on a Java 21 JVM.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@SuppressWarnings({"checkstyle:ClassFanOutComplexity", "checkstyle:ClassDataAbstractionCoupling"})
+public class NotificationProcessingBenchmark {
+
+    private static final int NOTIFICATIONS = 400;
+
+    private static final long DOWNSTREAM_LATENCY_MILLIS = 20;
+
+    private static final int WORKER_THREADS = 8;
+
+    private static final int QUEUE_CAPACITY = 16;
+
+    private static final int MAX_CONCURRENT_CALLS = 64;
+
+    @Param({"platform", "virtual"})
+    private String executionModel;
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private HttpClient httpClient;
+
+    private URI userUri;
+
+    private URI sendUri;
+
+    private Bulkheads bulkheads;
+
+    private ThreadPoolTaskExecutor platformExecutor;
+
+    private ExecutorService virtualExecutor;
+
+    /**
+     * Starts the stubs and the executor of the execution model under test.
+     *
+     * @throws IOException if the stub server cannot be started
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.createContext(
+                "/",
+                exchange -> {
+                    try (InputStream is = exchange.getRequestBody()) {
+                        is.readAllBytes();
+                    }
+                    try {
+                        Thread.sleep(DOWNSTREAM_LATENCY_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    final byte[] body = "{}".getBytes();
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream os = exchange.getResponseBody()) {
+                        os.write(body);
+                    }
+                });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        final String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        userUri = URI.create(baseUrl + "/api/v1/users/user");
+        sendUri = URI.create(baseUrl + "/v3/mail/send");
+
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        bulkheads =
+                new Bulkheads(
+                        MAX_CONCURRENT_CALLS,
+                        MAX_CONCURRENT_CALLS,
+                        MAX_CONCURRENT_CALLS,
+                        MAX_CONCURRENT_CALLS,
+                        Duration.ofSeconds(30),
+                        new SimpleMeterRegistry());
+
+        if ("virtual".equals(executionModel)) {
+            virtualExecutor = VirtualThreads.newVirtualThreadPerTaskExecutor("benchmark-");
+        } else {
+            platformExecutor = new ThreadPoolTaskExecutor();
+            platformExecutor.setCorePoolSize(WORKER_THREADS);
+            platformExecutor.setMaxPoolSize(WORKER_THREADS);
+            platformExecutor.setQueueCapacity(QUEUE_CAPACITY);
+            platformExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+            platformExecutor.initialize();
+        }
+    }
+
+    /**
+     * Stops the stubs and the executor.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (virtualExecutor != null) {
+            virtualExecutor.shutdown();
+        } else {
+            platformExecutor.shutdown();
+        }
+        server.stop(0);
+        serverExecutor.shutdown();
+    }
+
+    /**
+     * Processes a burst of notifications, as delivered by the subscription, and waits for all of
+     * them to complete.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Benchmark
+    @OperationsPerInvocation(NOTIFICATIONS)
+    public void processNotifications() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(NOTIFICATIONS);
+        for (int i = 0; i < NOTIFICATIONS; i++) {
+            final Runnable notification =
+                    () -> {
+                        try {
+                            process();
+                        } finally {
+                            done.countDown();
+                        }
+                    };
+            if (virtualExecutor != null) {
+                virtualExecutor.execute(notification);
+            } else {
+                platformExecutor.execute(notification);
+            }
+        }
+        done.await();
+    }
+
+    private void process() {
+        try {
+            bulkheads
+                    .getUserManagement()
+                    .call(
+                            () ->
+                                    httpClient.send(
+                                            HttpRequest.newBuilder(userUri).GET().build(),
+                                            HttpResponse.BodyHandlers.ofString()));
+            bulkheads
+                    .getSendGrid()
+                    .call(
+                            () ->
+                                    httpClient.send(
+                                            HttpRequest.newBuilder(sendUri)
+                                                    .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                                                    .build(),
+                                            HttpResponse.BodyHandlers.ofString()));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
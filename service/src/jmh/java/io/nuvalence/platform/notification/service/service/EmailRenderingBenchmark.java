@@ -0,0 +1,91 @@
+package io.nuvalence.platform.notification.service.service;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import io.nuvalence.platform.notification.service.service.cache.EmailRenderPlan;
+import io.nuvalence.platform.notification.service.service.cache.EmailRenderPlan.RenderedEmail;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rendering an email in a large HTML layout from its compiled subject and content blocks.
+ * {@code applyEveryPart} applies the blocks and then the layout, as the send pipeline did before
+ * render plans; {@code renderPlan} renders through an {@link EmailRenderPlan}, which pre-renders
+ * the layout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmailRenderingBenchmark {
+
+    private final Handlebars handlebars = new Handlebars();
+
+    private Template subject;
+
+    private Map<String, Template> contents;
+
+    private Template layout;
+
+    private EmailRenderPlan plan;
+
+    private Map<String, String> parameters;
+
+    /**
+     * Compiles the subject, the content blocks and the layout, and the plan made of them.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        subject = MessageBuilderUtils.compileTemplate("Application {{reference}}", handlebars);
+        contents = new LinkedHashMap<>();
+        for (int i = 0; i < TemplateRenderingBenchmark.LAYOUT_INPUTS; i++) {
+            contents.put(
+                    "input" + i,
+                    MessageBuilderUtils.compileTemplate(
+                            "Hi {{name}}, section " + i + " of application {{reference}}",
+                            handlebars));
+        }
+        layout =
+                MessageBuilderUtils.compileTemplate(
+                        TemplateRenderingBenchmark.htmlLayout(), handlebars);
+        plan = new EmailRenderPlan(subject, contents, layout, handlebars.getEscapingStrategy());
+        parameters = Map.of("name", "Deibys Parra", "reference", "38dh38");
+    }
+
+    /**
+     * Applies the subject, every block and then the layout.
+     *
+     * @return the rendered email
+     */
+    @Benchmark
+    public RenderedEmail applyEveryPart() {
+        Map<String, String> layoutInputs = new HashMap<>();
+        contents.forEach(
+                (input, content) ->
+                        layoutInputs.put(
+                                input, MessageBuilderUtils.applyTemplate(content, parameters)));
+        return new RenderedEmail(
+                MessageBuilderUtils.applyTemplate(subject, parameters),
+                MessageBuilderUtils.applyTemplate(layout, layoutInputs));
+    }
+
+    /**
+     * Renders the email through its render plan.
+     *
+     * @return the rendered email
+     */
+    @Benchmark
+    public RenderedEmail renderPlan() {
+        return plan.render(parameters);
+    }
+}
@@ -0,0 +1,88 @@
+package io.nuvalence.platform.notification.service.service;
+
+import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplate;
+import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplateIndex;
+import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplateLanguage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of picking the localized variant of a template for a user's preferred language, over
+ * templates translated into a growing number of languages. The template is indexed as the
+ * template cache indexes it, and the requested language is the last one the template lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LocalizedTemplateBenchmark {
+
+    private static final String DEFAULT_LOCALE = "en";
+
+    @Param({"1", "10", "50"})
+    private int languages;
+
+    private LocalizedStringTemplate localizedStringTemplate;
+
+    private String preferredLanguage;
+
+    private String regionalLanguage;
+
+    /**
+     * Creates a template with one variant per language.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] isoLanguages = Locale.getISOLanguages();
+        List<LocalizedStringTemplateLanguage> variants = new ArrayList<>(languages);
+        for (int i = 0; i < languages; i++) {
+            variants.add(
+                    LocalizedStringTemplateLanguage.builder()
+                            .language(isoLanguages[i])
+                            .template("Hello {{name}}, your application " + i + " was approved")
+                            .build());
+        }
+        localizedStringTemplate =
+                LocalizedStringTemplate.builder()
+                        .localizedTemplateStrings(variants)
+                        .languageIndex(LocalizedStringTemplateIndex.of(variants, DEFAULT_LOCALE))
+                        .build();
+        preferredLanguage = isoLanguages[languages - 1];
+        regionalLanguage = preferredLanguage + "-ZZ";
+    }
+
+    /**
+     * Finds the variant of exactly the requested language.
+     *
+     * @return the variant
+     */
+    @Benchmark
+    public Optional<LocalizedStringTemplateLanguage> exactLanguage() {
+        return MessageBuilderUtils.getLocalizedTemplate(
+                localizedStringTemplate, preferredLanguage, DEFAULT_LOCALE);
+    }
+
+    /**
+     * Finds the variant of the base language of a regional language the template lacks, which
+     * takes a second lookup.
+     *
+     * @return the variant
+     */
+    @Benchmark
+    public Optional<LocalizedStringTemplateLanguage> baseLanguageFallback() {
+        return MessageBuilderUtils.getLocalizedTemplate(
+                localizedStringTemplate, regionalLanguage, DEFAULT_LOCALE);
+    }
+}
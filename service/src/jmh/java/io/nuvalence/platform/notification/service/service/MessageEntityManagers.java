@@ -0,0 +1,57 @@
+package io.nuvalence.platform.notification.service.service;
+
+import io.nuvalence.platform.notification.service.domain.Message;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+/**
+ * Entity manager factories managing only {@link Message}, for persistence benchmarks.
+ */
+final class MessageEntityManagers {
+
+    private MessageEntityManagers() {}
+
+    /**
+     * Creates or updates the application schema with its Liquibase changelog, and creates an
+     * entity manager factory for it.
+     *
+     * @param dataSource database to use
+     * @param batchSize  Hibernate JDBC batch size
+     * @return the entity manager factory
+     * @throws Exception if the schema cannot be created
+     */
+    static EntityManagerFactory create(DataSource dataSource, int batchSize) throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:/db/changelog/changelog-master.xml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.jdbc.batch_size", batchSize);
+        properties.put("hibernate.order_inserts", true);
+
+        LocalContainerEntityManagerFactoryBean factory =
+                new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(Message.class.getPackageName());
+        // only the message tables are needed
+        factory.setPersistenceUnitPostProcessors(
+                unit -> {
+                    unit.getManagedClassNames().clear();
+                    unit.addManagedClassName(Message.class.getName());
+                });
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(properties);
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+}
@@ -0,0 +1,108 @@
+package io.nuvalence.platform.notification.service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.nuvalence.platform.notification.service.config.SpringConfig;
+import io.nuvalence.platform.notification.service.domain.Message;
+import io.nuvalence.platform.notification.service.domain.MessageTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of the steps of handling a message outside of its database and provider calls: checking
+ * the requested parameters against the types the template declares, when a message is requested,
+ * and parsing the PubSub payload, when it is sent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageHandlingBenchmark {
+
+    private MessageService messageService;
+
+    private NotificationProcessingSubscriber subscriber;
+
+    private Message message;
+
+    private MessageTemplate messageTemplate;
+
+    private org.springframework.messaging.Message<byte[]> payload;
+
+    /**
+     * Creates the message, its template and its PubSub payload.
+     *
+     * @throws JsonProcessingException if the message cannot be serialized
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        // neither step reaches the collaborators left out
+        messageService = new MessageService(null, null, null, new SimpleMeterRegistry());
+        ObjectMapper mapper = new SpringConfig().configureMapper();
+        subscriber =
+                new NotificationProcessingSubscriber(mapper, null, null, new SimpleMeterRegistry());
+
+        messageTemplate =
+                MessageTemplate.builder()
+                        .key("key")
+                        .parameters(
+                                Map.of(
+                                        "name", "String",
+                                        "amount", "Number",
+                                        "deadline", "Date",
+                                        "approvedAt", "DateTime"))
+                        .build();
+        message =
+                Message.builder()
+                        .id(UUID.randomUUID())
+                        .userId(UUID.randomUUID().toString())
+                        .messageTemplateKey("key")
+                        .status("QUEUED")
+                        .requestedTimestamp(OffsetDateTime.now())
+                        .parameters(
+                                Map.of(
+                                        "name", "Deibys Parra",
+                                        "amount", "1250.75",
+                                        "deadline", "2026-11-30",
+                                        "approvedAt", "2026-10-17T09:30:00"))
+                        .build();
+        payload =
+                MessageBuilder.withPayload(
+                                mapper.writeValueAsString(message).getBytes(StandardCharsets.UTF_8))
+                        .build();
+    }
+
+    /**
+     * Checks the message parameters against the template.
+     *
+     * @return the checked message
+     */
+    @Benchmark
+    public Message validateParameters() {
+        messageService.validateParameters(message, messageTemplate);
+        return message;
+    }
+
+    /**
+     * Parses the message from its PubSub payload.
+     *
+     * @return the parsed message
+     */
+    @Benchmark
+    public Message parseSubscriptionPayload() {
+        return subscriber.parseSubscriptionPayload(payload);
+    }
+}
@@ -0,0 +1,128 @@
+package io.nuvalence.platform.notification.service.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.nuvalence.platform.notification.service.domain.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Latency of saving one message, with its parameters, in its own transaction, and of looking a
+ * message up by id, as the send pipeline does.
+ *
+ * <p>Runs against in-memory H2 by default. To measure a local Postgres instead, override the
+ * {@code jdbcUrl} parameter with the URL of a scratch database, including its credentials; its
+ * schema is migrated with the application changelog, and the message tables are written to.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageLatencyBenchmark {
+
+    private static final int PARAMETERS = 4;
+
+    private static final int STORED_MESSAGES = 10_000;
+
+    @Param("jdbc:h2:mem:latency;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false")
+    private String jdbcUrl;
+
+    private HikariDataSource dataSource;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID[] storedIds;
+
+    /**
+     * Creates the schema and stores the messages that are looked up.
+     *
+     * @throws Exception if the schema cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(jdbcUrl);
+        entityManagerFactory = MessageEntityManagers.create(dataSource, 50);
+
+        storedIds = new UUID[STORED_MESSAGES];
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < STORED_MESSAGES; i++) {
+            Message message = message();
+            entityManager.persist(message);
+            storedIds[i] = message.getId();
+        }
+        entityManager.getTransaction().commit();
+        entityManager.close();
+    }
+
+    /**
+     * Closes the connections.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    /**
+     * Saves one message in its own transaction.
+     *
+     * @return the saved message
+     */
+    @Benchmark
+    public Message saveMessage() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        Message message = message();
+        entityManager.persist(message);
+        entityManager.getTransaction().commit();
+        entityManager.close();
+        return message;
+    }
+
+    /**
+     * Looks up a stored message, with its parameters, by id.
+     *
+     * @return the message parameters
+     */
+    @Benchmark
+    public Map<String, String> findMessage() {
+        UUID id = storedIds[ThreadLocalRandom.current().nextInt(STORED_MESSAGES)];
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        Map<String, String> parameters = entityManager.find(Message.class, id).getParameters();
+        parameters.size();
+        entityManager.close();
+        return parameters;
+    }
+
+    private static Message message() {
+        Map<String, String> parameters = new HashMap<>();
+        for (int p = 0; p < PARAMETERS; p++) {
+            parameters.put("parameter" + p, "value" + p);
+        }
+        return Message.builder()
+                .userId(UUID.randomUUID().toString())
+                .messageTemplateKey("template")
+                .status("QUEUED")
+                .parameters(parameters)
+                .requestedTimestamp(OffsetDateTime.now())
+                .build();
+    }
+}
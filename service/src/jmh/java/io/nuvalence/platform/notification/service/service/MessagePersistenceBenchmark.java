@@ -0,0 +1,130 @@
+package io.nuvalence.platform.notification.service.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.nuvalence.platform.notification.service.domain.Message;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Messages per second inserted when persisting batches of messages, each with its parameters, in one
+ * transaction, with and without Hibernate JDBC batching.
+ *
+ * <p>Runs against in-memory H2 by default. To measure a local Postgres instead, override the
+ * {@code jdbcUrl} parameter with the URL of a scratch database, including its credentials; its
+ * schema is migrated with the application changelog, and the message tables are written to.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MessagePersistenceBenchmark {
+
+    private static final int PARAMETERS = 4;
+
+    @Param({"10", "100", "1000"})
+    private int messages;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false")
+    private String jdbcUrl;
+
+    private HikariDataSource dataSource;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Counts inserted messages, so that throughput is reported in messages per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class InsertedMessages {
+        public long messages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            messages = 0;
+        }
+    }
+
+    /**
+     * Creates the schema and an entity manager factory with the batch size under test.
+     *
+     * @throws Exception if the schema cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(jdbcUrl);
+
+        entityManagerFactory = MessageEntityManagers.create(dataSource, batchSize);
+    }
+
+    /**
+     * Closes the connections.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    /**
+     * Empties the tables, so that every iteration inserts into tables of the same size.
+     */
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery("DELETE FROM message").executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.close();
+    }
+
+    /**
+     * Persists a batch of messages in one transaction.
+     *
+     * @param inserted inserted messages counter
+     */
+    @Benchmark
+    public void persistMessages(InsertedMessages inserted) {
+        OffsetDateTime now = OffsetDateTime.now();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < messages; i++) {
+            Map<String, String> parameters = new HashMap<>();
+            for (int p = 0; p < PARAMETERS; p++) {
+                parameters.put("parameter" + p, "value" + p);
+            }
+            entityManager.persist(
+                    Message.builder()
+                            .userId(UUID.randomUUID().toString())
+                            .messageTemplateKey("template")
+                            .status("QUEUED")
+                            .parameters(parameters)
+                            .requestedTimestamp(now)
+                            .build());
+        }
+        entityManager.getTransaction().commit();
+        entityManager.close();
+        inserted.messages += messages;
+    }
+}
@@ -0,0 +1,110 @@
+package io.nuvalence.platform.notification.service.service;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rendering a message with Handlebars: an SMS, and an email body in a large HTML layout.
+ * {@code replaceParameterInTemplate} compiles the template on every call, as template previews
+ * do; {@code applyCompiledTemplate} renders a template compiled once, as the send pipeline does
+ * through the compiled template cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TemplateRenderingBenchmark {
+
+    static final int LAYOUT_INPUTS = 20;
+
+    private static final String SMS_TEMPLATE =
+            "Hi {{name}}, your financial benefits application, {{transactionId}}, has been"
+                    + " approved. Reply STOP to opt out.";
+
+    private static final int LAYOUT_SECTIONS = 200;
+
+    @Param({"sms", "htmlLayout"})
+    private String template;
+
+    private final Handlebars handlebars = new Handlebars();
+
+    private String source;
+
+    private Template compiled;
+
+    private Map<String, String> parameters;
+
+    /**
+     * Builds and compiles the template, and its parameters.
+     *
+     * @throws java.io.IOException if the template cannot be compiled
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws java.io.IOException {
+        parameters = new HashMap<>();
+        if ("sms".equals(template)) {
+            source = SMS_TEMPLATE;
+            parameters.put("name", "Deibys Parra");
+            parameters.put("transactionId", "38dh38");
+        } else {
+            source = htmlLayout();
+            for (int i = 0; i < LAYOUT_INPUTS; i++) {
+                parameters.put("input" + i, "<p>Content of section " + i + ", escaped & all</p>");
+            }
+        }
+        compiled = handlebars.compileInline(source);
+    }
+
+    /**
+     * Compiles and renders the template.
+     *
+     * @return the rendered message
+     */
+    @Benchmark
+    public String replaceParameterInTemplate() {
+        return MessageBuilderUtils.replaceParameterInTemplate(source, parameters, handlebars);
+    }
+
+    /**
+     * Renders the already compiled template.
+     *
+     * @return the rendered message
+     */
+    @Benchmark
+    public String applyCompiledTemplate() {
+        return MessageBuilderUtils.applyTemplate(compiled, parameters);
+    }
+
+    // a layout of roughly 40 KB, with its inputs spread over many static sections
+    static String htmlLayout() {
+        StringBuilder layout =
+                new StringBuilder("<html>\n  <head>\n    <title>{{input0}}</title>\n  </head>\n");
+        layout.append("  <body>\n");
+        for (int i = 0; i < LAYOUT_SECTIONS; i++) {
+            layout.append("    <div class=\"section-")
+                    .append(i)
+                    .append("\" style=\"font-family: Arial, sans-serif; margin: 0 auto;\">\n")
+                    .append("      <p>Static text of the layout, repeated to reach a realistic")
+                    .append(" size for a branded email.</p>\n");
+            if (i % (LAYOUT_SECTIONS / LAYOUT_INPUTS) == 0) {
+                layout.append("      {{input")
+                        .append(i / (LAYOUT_SECTIONS / LAYOUT_INPUTS))
+                        .append("}}\n");
+            }
+            layout.append("    </div>\n");
+        }
+        return layout.append("  </body>\n</html>").toString();
+    }
+}
@@ -0,0 +1,152 @@
+package io.nuvalence.platform.notification.service.service.usermanagementapi;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkheads;
+import io.nuvalence.platform.notification.usermanagent.client.ApiClient;
+import io.nuvalence.platform.notification.usermanagent.client.ApiException;
+import io.nuvalence.platform.notification.usermanagent.client.generated.api.UsersApi;
+import io.nuvalence.platform.notification.usermanagent.client.generated.models.UserDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call latency of a user lookup against a local stub of the user management service, building
+ * a new client for every call (the previous behavior) versus the shared client of
+ * {@link UserManagementClientService}, with and without the user cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@SuppressWarnings({"checkstyle:ClassFanOutComplexity", "checkstyle:ClassDataAbstractionCoupling"})
+public class UserLookupBenchmark {
+
+    private static final String TOKEN = "token";
+
+    private final UUID userId = UUID.randomUUID();
+
+    private HttpServer server;
+
+    private String baseUrl;
+
+    private UserManagementClientService service;
+
+    private UserManagementClientService cachingService;
+
+    /**
+     * Starts the stub server and the shared client.
+     *
+     * @throws IOException if the stub server cannot be started
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // without it the stub's split header and body writes stall on delayed ACKs once
+        // connections are reused, which no production server does
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        final byte[] body =
+                ("{\"id\":\"" + userId + "\",\"email\":\"user@test.com\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(
+                "/api/v1/users/",
+                exchange -> {
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream os = exchange.getResponseBody()) {
+                        os.write(body);
+                    }
+                });
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+        service = createService(Duration.ZERO);
+        cachingService = createService(Duration.ofMinutes(1));
+    }
+
+    /**
+     * Stops the stub server.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdownExecutor();
+        cachingService.shutdownExecutor();
+        server.stop(0);
+    }
+
+    /**
+     * Previous behavior: a new ApiClient, and with it a new HttpClient, for every lookup.
+     *
+     * @return user
+     * @throws ApiException if the lookup fails
+     */
+    @Benchmark
+    public UserDTO newClientPerCall() throws ApiException {
+        final ApiClient apiClient = new ApiClient();
+        apiClient.updateBaseUri(baseUrl);
+        apiClient.setRequestInterceptor(request -> request.header("authorization", TOKEN));
+        return new UsersApi(apiClient).getUserById(userId);
+    }
+
+    /**
+     * One client shared by every lookup, with the user cache disabled.
+     *
+     * @return user
+     * @throws ApiException if the lookup fails
+     */
+    @Benchmark
+    public Optional<UserDTO> sharedClient() throws ApiException {
+        return service.getUser(userId);
+    }
+
+    /**
+     * Shared client behind the user cache, i.e. repeated notifications to the same recipient.
+     *
+     * @return user
+     * @throws ApiException if the lookup fails
+     */
+    @Benchmark
+    public Optional<UserDTO> cachedUser() throws ApiException {
+        return cachingService.getUser(userId);
+    }
+
+    private UserManagementClientService createService(Duration cacheTimeToLive) {
+        return new UserManagementClientService(
+                baseUrl,
+                Duration.ofSeconds(2),
+                Duration.ofSeconds(5),
+                true,
+                0,
+                new FixedTokenProvider(),
+                new UserCache(100, cacheTimeToLive, cacheTimeToLive, new SimpleMeterRegistry()),
+                new UserLookupBatcher(Duration.ZERO, 1, 1, Duration.ofSeconds(10)),
+                new Bulkheads(1, 1, 1, 1, Duration.ofSeconds(5), new SimpleMeterRegistry()),
+                new SimpleMeterRegistry());
+    }
+
+    private static final class FixedTokenProvider extends AuthTokenProvider {
+        private FixedTokenProvider() {
+            super(new SimpleMeterRegistry());
+        }
+
+        @Override
+        public String getToken() {
+            return TOKEN;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package io.nuvalence.platform.notification.service.loadtest;
+
+import com.google.cloud.spring.pubsub.support.BasicAcknowledgeablePubsubMessage;
+import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Timestamp;
+import com.google.pubsub.v1.ProjectSubscriptionName;
+import com.google.pubsub.v1.PubsubMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.AsyncResult;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-JVM stand-in for the notification topic and its subscription. Published messages are
+ * delivered to the input channel by a single subscriber thread, as the PubSub inbound adapter
+ * does, with the {@link GcpPubSubHeaders#ORIGINAL_MESSAGE} header the subscriber acknowledges
+ * through. At most {@code maxOutstanding} messages are unacknowledged at once, like the
+ * subscriber flow control, and a nacked message is delivered again after a delay.
+ */
+@Slf4j
+public class InMemoryPubSub {
+
+    private static final ProjectSubscriptionName SUBSCRIPTION =
+            ProjectSubscriptionName.of("loadtest", "notifications");
+
+    private final MessageChannel inputChannel;
+
+    private final Semaphore outstanding;
+
+    private final Duration redeliveryDelay;
+
+    private final BlockingQueue<PubsubMessage> topic = new LinkedBlockingQueue<>();
+
+    private final ScheduledExecutorService redeliveryScheduler =
+            Executors.newSingleThreadScheduledExecutor(
+                    new CustomizableThreadFactory("in-memory-pubsub-redelivery-"));
+
+    private final Thread subscriberThread;
+
+    /**
+     * Constructor.
+     *
+     * @param inputChannel    channel the subscriber receives notifications from
+     * @param maxOutstanding  maximum number of delivered messages not acknowledged yet
+     * @param redeliveryDelay time before a nacked message is delivered again
+     */
+    public InMemoryPubSub(
+            MessageChannel inputChannel, int maxOutstanding, Duration redeliveryDelay) {
+        this.inputChannel = inputChannel;
+        this.outstanding = new Semaphore(maxOutstanding);
+        this.redeliveryDelay = redeliveryDelay;
+        this.subscriberThread = new Thread(this::deliver, "in-memory-pubsub-subscriber");
+        this.subscriberThread.setDaemon(true);
+    }
+
+    /**
+     * Start delivering published messages.
+     */
+    public void start() {
+        subscriberThread.start();
+    }
+
+    /**
+     * Stop delivering messages; those not delivered yet are dropped.
+     */
+    public void stop() {
+        subscriberThread.interrupt();
+        redeliveryScheduler.shutdownNow();
+    }
+
+    /**
+     * Publish a message to the topic.
+     *
+     * @param payload message payload
+     * @return the message id
+     */
+    public ListenableFuture<String> publish(String payload) {
+        final String messageId = UUID.randomUUID().toString();
+        final Instant now = Instant.now();
+        topic.add(
+                PubsubMessage.newBuilder()
+                        .setMessageId(messageId)
+                        .setData(ByteString.copyFrom(payload, StandardCharsets.UTF_8))
+                        .setPublishTime(
+                                Timestamp.newBuilder()
+                                        .setSeconds(now.getEpochSecond())
+                                        .setNanos(now.getNano()))
+                        .build());
+        return AsyncResult.forValue(messageId);
+    }
+
+    private void deliver() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                outstanding.acquire();
+                PubsubMessage message = topic.take();
+                inputChannel.send(
+                        MessageBuilder.withPayload(message.getData().toByteArray())
+                                .setHeader(
+                                        GcpPubSubHeaders.ORIGINAL_MESSAGE,
+                                        new InMemoryPubsubMessage(message))
+                                .build());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("In-memory PubSub delivery failed", e);
+            }
+        }
+    }
+
+    private final class InMemoryPubsubMessage implements BasicAcknowledgeablePubsubMessage {
+
+        private final PubsubMessage message;
+
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private InMemoryPubsubMessage(PubsubMessage message) {
+            this.message = message;
+        }
+
+        @Override
+        public ProjectSubscriptionName getProjectSubscriptionName() {
+            return SUBSCRIPTION;
+        }
+
+        @Override
+        public PubsubMessage getPubsubMessage() {
+            return message;
+        }
+
+        @Override
+        public ListenableFuture<Void> ack() {
+            settle();
+            return AsyncResult.forValue(null);
+        }
+
+        @Override
+        public ListenableFuture<Void> nack() {
+            if (settle()) {
+                redeliveryScheduler.schedule(
+                        () -> topic.add(message), redeliveryDelay.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            return AsyncResult.forValue(null);
+        }
+
+        // the first ack or nack frees the flow control slot, later ones are ignored
+        private boolean settle() {
+            if (settled.compareAndSet(false, true)) {
+                outstanding.release();
+                return true;
+            }
+            return false;
+        }
+    }
+}
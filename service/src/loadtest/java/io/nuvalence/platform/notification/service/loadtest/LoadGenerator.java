@@ -0,0 +1,253 @@
+package io.nuvalence.platform.notification.service.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nuvalence.platform.notification.service.generated.models.MessageRequestModel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Drives {@code POST /messages} at a fixed rate, whatever the response times. Each request's
+ * latency is measured from the time it was due rather than from when it was actually sent, so
+ * that a stalled service shows up as latency instead of as a lower request rate.
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private final HttpClient httpClient;
+
+    private final URI messagesUri;
+
+    private final Supplier<String> token;
+
+    private final ObjectMapper objectMapper;
+
+    private final UUID[] users;
+
+    /**
+     * Constructor.
+     *
+     * @param httpClient   client the requests are sent with
+     * @param messagesUri  URI of the messages endpoint
+     * @param token        supplies the bearer token of each request
+     * @param objectMapper mapper serializing the requests
+     * @param users        number of distinct users messages are sent to
+     */
+    public LoadGenerator(
+            HttpClient httpClient,
+            URI messagesUri,
+            Supplier<String> token,
+            ObjectMapper objectMapper,
+            int users) {
+        this.httpClient = httpClient;
+        this.messagesUri = messagesUri;
+        this.token = token;
+        this.objectMapper = objectMapper;
+        this.users = new UUID[users];
+        for (int i = 0; i < users; i++) {
+            this.users[i] = UUID.randomUUID();
+        }
+    }
+
+    /**
+     * Send requests at the given rate for the given time, then wait for their responses.
+     *
+     * @param templateKey     template of the requested messages
+     * @param rate            requests per second
+     * @param duration        time requests are sent for
+     * @param responseTimeout time given to the last responses once all requests are sent
+     * @return the outcome of the requests
+     * @throws JsonProcessingException if a request cannot be serialized
+     * @throws InterruptedException    if interrupted while sending or waiting
+     */
+    public Result run(String templateKey, int rate, Duration duration, Duration responseTimeout)
+            throws JsonProcessingException, InterruptedException {
+        final int requests = (int) (rate * duration.toMillis() / 1000);
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        final Result result = new Result(requests);
+        final CompletableFuture<?>[] responses = new CompletableFuture<?>[requests];
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            final long due = start + i * intervalNanos;
+            for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            responses[i] =
+                    httpClient
+                            .sendAsync(
+                                    request(templateKey, i), HttpResponse.BodyHandlers.discarding())
+                            .handle(
+                                    (response, error) ->
+                                            result.record(
+                                                    System.nanoTime() - due,
+                                                    error == null ? response.statusCode() : 0));
+        }
+        result.sentNanos = System.nanoTime() - start;
+
+        try {
+            CompletableFuture.allOf(responses)
+                    .get(responseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // failed requests are recorded rather than completing exceptionally
+            throw new IllegalStateException("Recording a response failed", e.getCause());
+        } catch (TimeoutException e) {
+            log.warn(
+                    "{} requests still unanswered after {}",
+                    requests - result.completed.get(),
+                    responseTimeout);
+        }
+        result.elapsedNanos = result.lastResponseNanos.get() - start;
+        return result;
+    }
+
+    private HttpRequest request(String templateKey, int index) throws JsonProcessingException {
+        MessageRequestModel message =
+                new MessageRequestModel(
+                        users[index % users.length],
+                        templateKey,
+                        Map.of(
+                                "name", "Load Test",
+                                "reference", String.valueOf(index),
+                                "amount", "125.50"));
+        return HttpRequest.newBuilder(messagesUri)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token.get())
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(message)))
+                .build();
+    }
+
+    /**
+     * Outcome of a run: how many requests were accepted, and how long the responses took.
+     */
+    public static final class Result {
+
+        private final long[] latencies;
+
+        private final AtomicInteger completed = new AtomicInteger();
+
+        private final AtomicInteger accepted = new AtomicInteger();
+
+        private final AtomicInteger rejected = new AtomicInteger();
+
+        private final AtomicInteger failed = new AtomicInteger();
+
+        private final AtomicLong lastResponseNanos = new AtomicLong();
+
+        private long sentNanos;
+
+        private long elapsedNanos;
+
+        private Result(int requests) {
+            this.latencies = new long[requests];
+        }
+
+        private Void record(long latencyNanos, int status) {
+            final int index = completed.getAndIncrement();
+            latencies[index] = latencyNanos;
+            if (status >= 200 && status < 300) {
+                accepted.incrementAndGet();
+            } else if (status == 0) {
+                failed.incrementAndGet();
+            } else {
+                rejected.incrementAndGet();
+            }
+            lastResponseNanos.accumulateAndGet(System.nanoTime(), Math::max);
+            return null;
+        }
+
+        /**
+         * Number of requests sent.
+         *
+         * @return requests
+         */
+        public int getRequests() {
+            return latencies.length;
+        }
+
+        /**
+         * Number of requests answered with a success status.
+         *
+         * @return accepted requests
+         */
+        public int getAccepted() {
+            return accepted.get();
+        }
+
+        /**
+         * Number of requests answered with an error status.
+         *
+         * @return rejected requests
+         */
+        public int getRejected() {
+            return rejected.get();
+        }
+
+        /**
+         * Number of requests that got no response.
+         *
+         * @return failed requests
+         */
+        public int getFailed() {
+            return failed.get();
+        }
+
+        /**
+         * Rate at which the requests were actually sent.
+         *
+         * @return requests per second
+         */
+        public double getSentRate() {
+            return perSecond(latencies.length, sentNanos);
+        }
+
+        /**
+         * Rate at which requests were accepted, from the first request to the last response.
+         *
+         * @return accepted requests per second
+         */
+        public double getAcceptedRate() {
+            return perSecond(accepted.get(), elapsedNanos);
+        }
+
+        /**
+         * Response time under which the given share of the answered requests fell.
+         *
+         * @param quantile share of the requests, between 0 and 1
+         * @return response time
+         */
+        public Duration getLatency(double quantile) {
+            final int count = Math.min(completed.get(), latencies.length);
+            if (count == 0) {
+                return Duration.ZERO;
+            }
+            final long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            final int rank = (int) Math.ceil(quantile * count);
+            return Duration.ofNanos(sorted[Math.max(0, rank - 1)]);
+        }
+
+        private static double perSecond(long count, long nanos) {
+            return nanos <= 0 ? 0 : count * 1e9 / nanos;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.nuvalence.platform.notification.service.loadtest;
+
+import io.nuvalence.auth.access.AuthorizationHandler;
+import io.nuvalence.platform.notification.service.config.PubSubOutboundConfig.MessagePublisher;
+import io.nuvalence.platform.notification.service.service.EmailProvider;
+import io.nuvalence.platform.notification.service.service.SmsProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.messaging.MessageChannel;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Replaces the externals of the service with local stand-ins, so that the whole pipeline runs
+ * without cloud access: PubSub with {@link InMemoryPubSub}, user management with
+ * {@link UserManagementStub}, SendGrid and Twilio with {@link SimulatedProvider}s, and Cerbos with
+ * a handler allowing everything.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    /**
+     * Creates the in-JVM topic and subscription notifications go through.
+     *
+     * @param inputChannel    notification processing input channel
+     * @param maxOutstanding  maximum number of delivered messages not acknowledged yet
+     * @param redeliveryDelay time before a nacked message is delivered again
+     * @return in-memory PubSub, started
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public InMemoryPubSub inMemoryPubSub(
+            @Qualifier("inputMessageChannel") MessageChannel inputChannel,
+            @Value(
+                            "${spring.cloud.gcp.pubsub.subscriber.flow-control"
+                                    + ".max-outstanding-element-count:32}")
+                    int maxOutstanding,
+            @Value("${loadTest.pubsub.redeliveryDelay:PT1S}") Duration redeliveryDelay) {
+        return new InMemoryPubSub(inputChannel, maxOutstanding, redeliveryDelay);
+    }
+
+    /**
+     * Creates the publisher the outbox relay publishes through.
+     *
+     * @param inMemoryPubSub in-memory PubSub
+     * @return Message Publisher
+     */
+    @Bean
+    @Primary
+    public MessagePublisher inMemoryMessagePublisher(InMemoryPubSub inMemoryPubSub) {
+        return inMemoryPubSub::publish;
+    }
+
+    /**
+     * Creates the user management stub the service looks users up from.
+     *
+     * @param port          port to listen on
+     * @param latency       time taken by every lookup
+     * @param smsPercentage percentage of the users preferring SMS over email
+     * @return user management stub, started
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public UserManagementStub userManagementStub(
+            @Value("${loadTest.userManagement.port:18081}") int port,
+            @Value("${loadTest.userManagement.latency:PT0.02S}") Duration latency,
+            @Value("${loadTest.userManagement.smsPercentage:20}") int smsPercentage) {
+        return new UserManagementStub(port, latency, smsPercentage);
+    }
+
+    /**
+     * Creates the email provider stand-in.
+     *
+     * @param latency   time taken by every send
+     * @param errorRate share of the sends that fail
+     * @return Email Provider
+     */
+    @Bean
+    @Primary
+    public EmailProvider simulatedEmailProvider(
+            @Value("${loadTest.email.latency:PT0.1S}") Duration latency,
+            @Value("${loadTest.email.errorRate:0}") double errorRate) {
+        SimulatedProvider provider = new SimulatedProvider("sendgrid", latency, errorRate);
+        return (to, subject, body) -> provider.send();
+    }
+
+    /**
+     * Creates the SMS provider stand-in.
+     *
+     * @param latency   time taken by every send
+     * @param errorRate share of the sends that fail
+     * @return SMS Provider
+     */
+    @Bean
+    @Primary
+    public SmsProvider simulatedSmsProvider(
+            @Value("${loadTest.sms.latency:PT0.2S}") Duration latency,
+            @Value("${loadTest.sms.errorRate:0}") double errorRate) {
+        SimulatedProvider provider = new SimulatedProvider("twilio", latency, errorRate);
+        return (to, message) -> provider.send();
+    }
+
+    /**
+     * Creates an authorization handler allowing every action, in place of Cerbos. It is a proxy
+     * so that it answers whatever the handler interface asks: true for permission checks, and a
+     * filter letting everything through for filters.
+     *
+     * @return Authorization Handler
+     */
+    @Bean
+    @Primary
+    public AuthorizationHandler allowAllAuthorizationHandler() {
+        Predicate<Object> allowAll = resource -> true;
+        return (AuthorizationHandler)
+                Proxy.newProxyInstance(
+                        Thread.currentThread().getContextClassLoader(),
+                        new Class<?>[] {AuthorizationHandler.class},
+                        (proxy, method, args) -> {
+                            switch (method.getName()) {
+                                case "equals":
+                                    return proxy == args[0];
+                                case "hashCode":
+                                    return System.identityHashCode(proxy);
+                                case "toString":
+                                    return "allowAllAuthorizationHandler";
+                                default:
+                                    return method.getReturnType() == boolean.class
+                                            ? Boolean.TRUE
+                                            : allowAll;
+                            }
+                        });
+    }
+}
@@ -0,0 +1,304 @@
+package io.nuvalence.platform.notification.service.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.nuvalence.platform.notification.service.OpenApiGeneratorApplication;
+import io.nuvalence.platform.notification.service.generated.models.EmailFormatModel;
+import io.nuvalence.platform.notification.service.generated.models.EmailLayoutRequestModel;
+import io.nuvalence.platform.notification.service.generated.models.LocalizedTemplateModel;
+import io.nuvalence.platform.notification.service.generated.models.TemplateRequestModel;
+import io.nuvalence.platform.notification.service.generated.models.TemplateRequestModelSmsFormat;
+import io.nuvalence.platform.notification.service.service.usermanagementapi.AuthTokenProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test: starts the service with the {@code loadtest} profile, which replaces all
+ * of its externals with local stand-ins (see {@link LoadTestConfig}), requests messages at a
+ * target rate after a warm-up, waits for them to be delivered, and reports the sustained
+ * throughput and the latency percentiles of both the requests and the deliveries.
+ *
+ * <p>Run with {@code ./gradlew :service:loadTest}; settings are passed as project properties,
+ * e.g. {@code -PloadTest.rate=200 -PloadTest.duration=PT2M -PloadTest.email.errorRate=0.05}. See
+ * {@code application-loadtest.yml} for all of them.</p>
+ */
+@Slf4j
+@SuppressWarnings("checkstyle:ClassFanOutComplexity")
+public final class LoadTestRunner {
+
+    private static final String WARMUP_TEMPLATE = "loadtest-warmup";
+
+    private static final String MEASURED_TEMPLATE = "loadtest";
+
+    private static final String EMAIL_LAYOUT = "loadtest";
+
+    private static final double MAX_QUANTILE = 1;
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999, MAX_QUANTILE};
+
+    private final ConfigurableApplicationContext context;
+
+    private final Environment environment;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final HttpClient httpClient;
+
+    private final String baseUrl;
+
+    private LoadTestRunner(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.environment = context.getEnvironment();
+        this.objectMapper = context.getBean(ObjectMapper.class);
+        this.meterRegistry = context.getBean(MeterRegistry.class);
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.baseUrl =
+                "http://localhost:"
+                        + environment.getRequiredProperty("local.server.port")
+                        + environment.getProperty("server.servlet.context-path", "");
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args application arguments
+     * @throws Exception if the load test cannot be run
+     */
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context =
+                new SpringApplicationBuilder(OpenApiGeneratorApplication.class)
+                        .profiles("loadtest")
+                        .run(args);
+        try {
+            new LoadTestRunner(context).run();
+        } finally {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private void run() throws IOException, InterruptedException {
+        createTemplate(WARMUP_TEMPLATE);
+        createTemplate(MEASURED_TEMPLATE);
+
+        final int rate = environment.getRequiredProperty("loadTest.rate", Integer.class);
+        final Duration warmup = environment.getRequiredProperty("loadTest.warmup", Duration.class);
+        final Duration duration =
+                environment.getRequiredProperty("loadTest.duration", Duration.class);
+        final Duration drainTimeout =
+                environment.getRequiredProperty("loadTest.drainTimeout", Duration.class);
+        final AuthTokenProvider tokenProvider = context.getBean(AuthTokenProvider.class);
+        final LoadGenerator generator =
+                new LoadGenerator(
+                        httpClient,
+                        URI.create(baseUrl + "/api/v1/messages"),
+                        tokenProvider::getToken,
+                        objectMapper,
+                        environment.getRequiredProperty("loadTest.users", Integer.class));
+
+        log.info("Warming up at {} requests/s for {}", rate, warmup);
+        awaitDelivered(
+                WARMUP_TEMPLATE,
+                generator.run(WARMUP_TEMPLATE, rate, warmup, drainTimeout).getAccepted(),
+                drainTimeout);
+
+        log.info("Measuring at {} requests/s for {}", rate, duration);
+        final double retriesBefore = processed("retry");
+        final double unprocessableBefore = processed("unprocessable");
+        final long start = System.nanoTime();
+        final LoadGenerator.Result result =
+                generator.run(MEASURED_TEMPLATE, rate, duration, drainTimeout);
+        final long delivered =
+                awaitDelivered(MEASURED_TEMPLATE, result.getAccepted(), drainTimeout);
+        final long deliveryNanos = System.nanoTime() - start;
+
+        report(
+                result,
+                delivered,
+                delivered * 1e9 / deliveryNanos,
+                processed("retry") - retriesBefore,
+                processed("unprocessable") - unprocessableBefore);
+    }
+
+    // waits until the given number of messages of the template were delivered, or no progress is
+    // made for the given time
+    private long awaitDelivered(String templateKey, long expected, Duration timeout)
+            throws InterruptedException {
+        long delivered = delivered(templateKey);
+        long lastProgress = System.nanoTime();
+        while (delivered < expected && System.nanoTime() - lastProgress < timeout.toNanos()) {
+            TimeUnit.MILLISECONDS.sleep(100);
+            long now = delivered(templateKey);
+            if (now > delivered) {
+                delivered = now;
+                lastProgress = System.nanoTime();
+            }
+        }
+        if (delivered < expected) {
+            log.warn("Only {} of {} messages were delivered", delivered, expected);
+        }
+        return delivered;
+    }
+
+    private long delivered(String templateKey) {
+        return deliveryTimers(templateKey).stream().mapToLong(Timer::count).sum();
+    }
+
+    private List<Timer> deliveryTimers(String templateKey) {
+        return new ArrayList<>(
+                meterRegistry
+                        .find("notification.delivery.latency")
+                        .tag("template", templateKey)
+                        .timers());
+    }
+
+    private double processed(String outcome) {
+        Timer timer = meterRegistry.find("notification.processing").tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private void report(
+            LoadGenerator.Result result,
+            long delivered,
+            double deliveryRate,
+            double retries,
+            double unprocessable) {
+        log.info(
+                "Requests: {} sent at {} requests/s, {} accepted, {} rejected, {} failed",
+                result.getRequests(),
+                String.format("%.1f", result.getSentRate()),
+                result.getAccepted(),
+                result.getRejected(),
+                result.getFailed());
+        log.info(
+                "Sustained request throughput: {} accepted requests/s",
+                String.format("%.1f", result.getAcceptedRate()));
+        StringBuilder latencies = new StringBuilder("Request latency (ms):");
+        for (double quantile : QUANTILES) {
+            latencies.append(
+                    String.format(
+                            " %s=%.1f",
+                            label(quantile), result.getLatency(quantile).toNanos() / 1e6));
+        }
+        log.info(latencies.toString());
+
+        log.info(
+                "Deliveries: {} delivered, {} retried attempts, {} unprocessable",
+                delivered,
+                (long) retries,
+                (long) unprocessable);
+        log.info(
+                "Sustained delivery throughput: {} messages/s",
+                String.format("%.1f", deliveryRate));
+        for (Timer timer : deliveryTimers(MEASURED_TEMPLATE)) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            StringBuilder line =
+                    new StringBuilder("Delivery latency, ")
+                            .append(timer.getId().getTag("channel"))
+                            .append(" (ms):");
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                line.append(
+                        String.format(
+                                " %s=%.1f",
+                                label(percentile.percentile()),
+                                percentile.value(TimeUnit.MILLISECONDS)));
+            }
+            line.append(String.format(" max=%.1f", snapshot.max(TimeUnit.MILLISECONDS)));
+            log.info(line.toString());
+        }
+    }
+
+    private static String label(double quantile) {
+        if (quantile >= MAX_QUANTILE) {
+            return "max";
+        }
+        return "p"
+                + BigDecimal.valueOf(quantile)
+                        .movePointRight(2)
+                        .stripTrailingZeros()
+                        .toPlainString();
+    }
+
+    private void createTemplate(String templateKey) throws IOException, InterruptedException {
+        put(
+                "/api/v1/admin/email-layout/" + EMAIL_LAYOUT,
+                new EmailLayoutRequestModel(
+                        "Load test",
+                        "Layout of the load test emails",
+                        "<html><body><h1>{{title}}</h1><p>{{body}}</p></body></html>",
+                        new ArrayList<>(List.of("title", "body"))));
+
+        EmailFormatModel emailFormat =
+                new EmailFormatModel(
+                        EMAIL_LAYOUT,
+                        new LocalizedTemplateModel(Map.of("en", "Application {{reference}}")),
+                        Map.of(
+                                "title",
+                                new LocalizedTemplateModel(
+                                        Map.of("en", "Your application was approved")),
+                                "body",
+                                new LocalizedTemplateModel(
+                                        Map.of(
+                                                "en",
+                                                "Hello {{name}}, application {{reference}} was"
+                                                        + " approved for {{amount}}."))));
+        TemplateRequestModelSmsFormat smsFormat = new TemplateRequestModelSmsFormat();
+        smsFormat.setMessage(
+                new LocalizedTemplateModel(
+                        Map.of("en", "Hi {{name}}, application {{reference}} was approved.")));
+        put(
+                "/api/v1/admin/templates/" + templateKey,
+                new TemplateRequestModel(
+                        "Load test",
+                        "Template of the load test messages",
+                        Map.of("name", "String", "reference", "String", "amount", "Number"),
+                        emailFormat,
+                        smsFormat));
+    }
+
+    private void put(String path, Object body) throws IOException, InterruptedException {
+        HttpResponse<String> response =
+                httpClient.send(
+                        HttpRequest.newBuilder(URI.create(baseUrl + path))
+                                .header("Content-Type", "application/json")
+                                .header(
+                                        "Authorization",
+                                        "Bearer "
+                                                + context.getBean(AuthTokenProvider.class)
+                                                        .getToken())
+                                .PUT(
+                                        HttpRequest.BodyPublishers.ofString(
+                                                objectMapper.writeValueAsString(body)))
+                                .build(),
+                        HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+            throw new IllegalStateException(
+                    "PUT "
+                            + path
+                            + " failed with "
+                            + response.statusCode()
+                            + ": "
+                            + response.body());
+        }
+    }
+}
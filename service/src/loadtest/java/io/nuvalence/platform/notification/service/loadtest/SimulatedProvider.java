@@ -0,0 +1,59 @@
+package io.nuvalence.platform.notification.service.loadtest;
+
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stand-in for an email or SMS provider: takes a fixed time to answer, and fails a share of the
+ * sends, which the send pipeline retries.
+ */
+public class SimulatedProvider {
+
+    private final String name;
+
+    private final Duration latency;
+
+    private final double errorRate;
+
+    /**
+     * Constructor.
+     *
+     * @param name      provider name, used in the ids it returns and in its errors
+     * @param latency   time taken by every send
+     * @param errorRate share of the sends that fail, between 0 and 1
+     */
+    public SimulatedProvider(String name, Duration latency, double errorRate) {
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("Error rate must be between 0 and 1: " + errorRate);
+        }
+        this.name = name;
+        this.latency = latency;
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Accept a message, after the configured latency.
+     *
+     * @return the provider's response
+     */
+    public ProviderResponse send() {
+        final long start = System.nanoTime();
+        try {
+            Thread.sleep(latency.toMillis(), latency.toNanosPart() % 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending through " + name, e);
+        }
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            throw new IllegalStateException("Simulated failure of " + name);
+        }
+        return new ProviderResponse(
+                name + "-" + UUID.randomUUID(),
+                OffsetDateTime.now(),
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+}
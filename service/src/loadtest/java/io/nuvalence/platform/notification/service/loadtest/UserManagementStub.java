@@ -0,0 +1,113 @@
+package io.nuvalence.platform.notification.service.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stand-in for user management, answering user lookups after a fixed latency. Every user id is
+ * known; a user prefers SMS or email depending on its id, so that the share of SMS users is
+ * stable from run to run.
+ */
+@Slf4j
+public class UserManagementStub {
+
+    private static final String USERS_PATH = "/api/v1/users/";
+
+    private final int port;
+
+    private final Duration latency;
+
+    private final int smsPercentage;
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    /**
+     * Constructor.
+     *
+     * @param port          port to listen on
+     * @param latency       time taken by every lookup
+     * @param smsPercentage percentage of the users preferring SMS over email
+     */
+    public UserManagementStub(int port, Duration latency, int smsPercentage) {
+        this.port = port;
+        this.latency = latency;
+        this.smsPercentage = smsPercentage;
+    }
+
+    /**
+     * Start listening.
+     *
+     * @throws IOException if the port cannot be bound
+     */
+    public void start() throws IOException {
+        // without it the split header and body writes stall on delayed ACKs once connections are
+        // reused, which no production server does
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        server.createContext(USERS_PATH, this::handle);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        log.info("User management stub listening on port {}", port);
+    }
+
+    /**
+     * Stop listening.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream is = exchange.getRequestBody()) {
+            is.readAllBytes();
+        }
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        UUID userId;
+        try {
+            userId =
+                    UUID.fromString(
+                            exchange.getRequestURI().getPath().substring(USERS_PATH.length()));
+        } catch (IllegalArgumentException e) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+
+        final byte[] body = user(userId).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private String user(UUID userId) {
+        final String method =
+                Math.floorMod(userId.hashCode(), 100) < smsPercentage ? "sms" : "email";
+        return String.format(
+                "{\"id\":\"%s\",\"email\":\"%s@loadtest.local\",\"phoneNumber\":\"+15550100\","
+                        + "\"preferences\":{\"preferredLanguage\":\"en\","
+                        + "\"preferredCommunicationMethod\":\"%s\"}}",
+                userId, userId, method);
+    }
+}
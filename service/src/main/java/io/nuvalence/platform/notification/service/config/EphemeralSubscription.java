@@ -0,0 +1,68 @@
+package io.nuvalence.platform.notification.service.config;
+
+import com.google.cloud.spring.pubsub.PubSubAdmin;
+import com.google.protobuf.Duration;
+import com.google.pubsub.v1.ExpirationPolicy;
+import com.google.pubsub.v1.Subscription;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * PubSub subscription owned by a single instance. It is created on construction and deleted on
+ * shutdown; the expiration policy removes it if the instance dies without shutting down cleanly.
+ */
+@Slf4j
+public class EphemeralSubscription implements DisposableBean {
+
+    // one day is the shortest expiration PubSub accepts
+    private static final long EXPIRATION_SECONDS = 24L * 60 * 60;
+
+    // ten minutes is the shortest retention PubSub accepts
+    private static final long RETENTION_SECONDS = 10L * 60;
+
+    private static final int ACK_DEADLINE_SECONDS = 10;
+
+    private final PubSubAdmin admin;
+
+    private final String name;
+
+    /**
+     * Creates the subscription.
+     *
+     * @param admin PubSub Admin
+     * @param name  subscription name
+     * @param topic topic to subscribe to
+     */
+    public EphemeralSubscription(PubSubAdmin admin, String name, String topic) {
+        this.admin = admin;
+        this.name = name;
+
+        log.info("Creating subscription: {}, topic: {}", name, topic);
+        admin.createSubscription(
+                Subscription.newBuilder()
+                        .setName(name)
+                        .setTopic(topic)
+                        .setAckDeadlineSeconds(ACK_DEADLINE_SECONDS)
+                        .setMessageRetentionDuration(
+                                Duration.newBuilder().setSeconds(RETENTION_SECONDS))
+                        .setExpirationPolicy(
+                                ExpirationPolicy.newBuilder()
+                                        .setTtl(
+                                                Duration.newBuilder()
+                                                        .setSeconds(EXPIRATION_SECONDS))));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            log.info("Deleting subscription: {}", name);
+            admin.deleteSubscription(name);
+        } catch (RuntimeException ex) {
+            log.warn("Subscription {} could not be deleted, it will expire instead", name, ex);
+        }
+    }
+}
@@ -7,6 +7,8 @@ import com.google.cloud.spring.pubsub.integration.inbound.PubSubInboundChannelAd
 import com.google.pubsub.v1.DeadLetterPolicy;
 import com.google.pubsub.v1.Subscription;
 import io.nuvalence.platform.notification.service.service.NotificationProcessingSubscriber;
+import io.nuvalence.platform.notification.service.service.cache.CacheInvalidationBroadcaster;
+import io.nuvalence.platform.notification.service.service.cache.CacheInvalidationSubscriber;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,18 +17,41 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.integration.annotation.ServiceActivator;
 import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.channel.ExecutorChannel;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHandler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Configures PubSub Inbound.
  */
 @Slf4j
 @Configuration
+@SuppressWarnings("checkstyle:ClassFanOutComplexity")
 public class PubSubInboundConfig {
 
+    /**
+     * Channel receiving cache invalidations from other instances.
+     */
+    public static final String CACHE_INVALIDATION_INPUT_CHANNEL = "cacheInvalidationInputChannel";
+
+    /**
+     * Executor the notification processing workers run on.
+     */
+    public static final String PROCESSING_EXECUTOR = "notificationProcessingExecutor";
+
     private static final String INPUT_CHANNEL = "inputMessageChannel";
 
+    private static final String PLATFORM_EXECUTION_MODEL = "platform";
+
+    private static final String VIRTUAL_EXECUTION_MODEL = "virtual";
+
+    private static final String PROCESSING_THREAD_PREFIX = "notification-processing-";
+
     private final String topic;
 
     private final String deadLetterTopic;
@@ -35,38 +60,114 @@ public class PubSubInboundConfig {
 
     private final boolean createTopicAndSubs;
 
+    private final String cacheInvalidationTopic;
+
+    private final String cacheInvalidationSubscriptionPrefix;
+
     private final NotificationProcessingSubscriber subscriber;
 
+    private final CacheInvalidationSubscriber cacheInvalidationSubscriber;
+
     /**
      * PubSub config constructor.
      *
-     * @param topic              the name of the topic to publish messages to
-     * @param deadLetterTopic    the name of the dead letter topic for failed requests
-     * @param subscription       the name of the subscription to pull messages from
-     * @param createTopicAndSubs whether to create the topic and subscription if they don't exist
-     * @param subscriber         the subscriber bean
+     * @param topic                               the name of the topic to publish messages to
+     * @param deadLetterTopic                     the name of the dead letter topic for failed
+     *                                            requests
+     * @param subscription                        the name of the subscription to pull messages
+     *                                            from
+     * @param createTopicAndSubs                  whether to create the topic and subscription if
+     *                                            they don't exist
+     * @param cacheInvalidationTopic              the name of the cache invalidation topic
+     * @param cacheInvalidationSubscriptionPrefix the prefix of the per-instance cache invalidation
+     *                                            subscription names
+     * @param subscriber                          the subscriber bean
+     * @param cacheInvalidationSubscriber         the cache invalidation subscriber bean
      */
     public PubSubInboundConfig(
             @Value("${spring.cloud.gcp.pubsub.topic}") String topic,
             @Value("${spring.cloud.gcp.pubsub.deadLetterTopic}") String deadLetterTopic,
             @Value("${spring.cloud.gcp.pubsub.subscription2}") String subscription,
             @Value("${spring.cloud.gcp.pubsub.enableTopicCreation}") boolean createTopicAndSubs,
-            NotificationProcessingSubscriber subscriber) {
+            @Value("${spring.cloud.gcp.pubsub.cacheInvalidationTopic}")
+                    String cacheInvalidationTopic,
+            @Value("${spring.cloud.gcp.pubsub.cacheInvalidationSubscriptionPrefix}")
+                    String cacheInvalidationSubscriptionPrefix,
+            NotificationProcessingSubscriber subscriber,
+            CacheInvalidationSubscriber cacheInvalidationSubscriber) {
         this.subscription = subscription;
         this.topic = topic;
         this.createTopicAndSubs = createTopicAndSubs;
         this.subscriber = subscriber;
         this.deadLetterTopic = deadLetterTopic;
+        this.cacheInvalidationTopic = cacheInvalidationTopic;
+        this.cacheInvalidationSubscriptionPrefix = cacheInvalidationSubscriptionPrefix;
+        this.cacheInvalidationSubscriber = cacheInvalidationSubscriber;
+    }
+
+    /**
+     * Creates the executor notifications are processed on.
+     *
+     * <p>With the {@code platform} execution model this is a bounded pool of workers. Messages
+     * beyond {@code workerThreads + queueCapacity} are run on the PubSub subscriber thread that
+     * delivered them, which stops it from pulling more until a worker frees up.</p>
+     *
+     * <p>With the {@code virtual} execution model, available on Java 21 or later, every
+     * notification runs on its own virtual thread, and only the subscriber flow control and the
+     * per-downstream bulkheads bound how many are in flight.</p>
+     *
+     * @param executionModel    {@code platform} or {@code virtual}
+     * @param workerThreads     number of notifications processed concurrently on platform threads
+     * @param queueCapacity     number of received notifications waiting for a platform thread
+     * @param shutdownTimeout   time given to in-flight notifications to complete on shutdown
+     * @param dbPoolSize        size of the database connection pool
+     * @return Executor
+     */
+    @Bean(name = PROCESSING_EXECUTOR)
+    public Executor notificationProcessingExecutor(
+            @Value("${notificationProcessing.executionModel:platform}") String executionModel,
+            @Value("${notificationProcessing.workerThreads:8}") int workerThreads,
+            @Value("${notificationProcessing.queueCapacity:16}") int queueCapacity,
+            @Value("${notificationProcessing.shutdownTimeout:PT30S}") Duration shutdownTimeout,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int dbPoolSize) {
+        if (VIRTUAL_EXECUTION_MODEL.equalsIgnoreCase(executionModel)) {
+            log.info("Processing notifications on virtual threads");
+            return VirtualThreads.newVirtualThreadPerTaskExecutor(PROCESSING_THREAD_PREFIX);
+        }
+        if (!PLATFORM_EXECUTION_MODEL.equalsIgnoreCase(executionModel)) {
+            throw new IllegalArgumentException(
+                    "Unknown notification processing execution model: " + executionModel);
+        }
+
+        if (workerThreads > dbPoolSize) {
+            log.warn(
+                    "{} notification processing workers share {} database connections, workers"
+                            + " will wait on the pool",
+                    workerThreads,
+                    dbPoolSize);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(PROCESSING_THREAD_PREFIX);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationMillis(shutdownTimeout.toMillis());
+        return executor;
     }
 
     /**
-     * Creates a message channel that receives messages from PubSub.
+     * Creates a message channel that receives messages from PubSub and hands them to the
+     * notification processing workers.
      *
+     * @param executor notification processing executor
      * @return Message Channel
      */
     @Bean
-    public MessageChannel inputMessageChannel() {
-        return new DirectChannel();
+    public MessageChannel inputMessageChannel(@Qualifier(PROCESSING_EXECUTOR) Executor executor) {
+        return new ExecutorChannel(executor);
     }
 
     /**
@@ -130,4 +231,79 @@ public class PubSubInboundConfig {
     public MessageHandler messageReceiverNotificationProcessing() {
         return subscriber;
     }
+
+    /**
+     * Creates a message channel that receives cache invalidations.
+     *
+     * @return Message Channel
+     */
+    @Bean
+    public MessageChannel cacheInvalidationInputChannel() {
+        return new DirectChannel();
+    }
+
+    /**
+     * Creates the subscription of this instance to the cache invalidation topic. Every instance
+     * needs its own subscription so that each one receives every invalidation. The subscription is
+     * created and deleted by the instance itself even when topic creation is disabled, so the
+     * service account needs {@code pubsub.subscriptions.create} and {@code
+     * pubsub.subscriptions.delete} on the project and {@code pubsub.topics.attachSubscription} on
+     * the cache invalidation topic.
+     *
+     * @param admin PubSub Admin
+     * @param broadcaster broadcaster holding this instance's identifier
+     * @return Subscription, deleted on shutdown
+     */
+    @Bean
+    @ConditionalOnProperty(
+            value = "spring.cloud.gcp.pubsub.enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    public EphemeralSubscription cacheInvalidationSubscription(
+            PubSubAdmin admin, CacheInvalidationBroadcaster broadcaster) {
+        if (createTopicAndSubs && admin.getTopic(cacheInvalidationTopic) == null) {
+            log.info("Creating topic: {}", cacheInvalidationTopic);
+            admin.createTopic(cacheInvalidationTopic);
+        }
+        return new EphemeralSubscription(
+                admin,
+                cacheInvalidationSubscriptionPrefix + "-" + broadcaster.getInstanceId(),
+                cacheInvalidationTopic);
+    }
+
+    /**
+     * Creates a message adapter that receives cache invalidations from PubSub.
+     *
+     * @param inputChannel Message Channel
+     * @param pubSubTemplate PubSub Message Template
+     * @param cacheInvalidationSubscription subscription of this instance
+     * @return Message Adapter
+     */
+    @Bean
+    @ConditionalOnProperty(
+            value = "spring.cloud.gcp.pubsub.enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    public PubSubInboundChannelAdapter cacheInvalidationInboundChannelAdapter(
+            @Qualifier(CACHE_INVALIDATION_INPUT_CHANNEL) MessageChannel inputChannel,
+            PubSubTemplate pubSubTemplate,
+            EphemeralSubscription cacheInvalidationSubscription) {
+        PubSubInboundChannelAdapter adapter =
+                new PubSubInboundChannelAdapter(
+                        pubSubTemplate, cacheInvalidationSubscription.getName());
+        adapter.setOutputChannel(inputChannel);
+        adapter.setAckMode(AckMode.MANUAL);
+        return adapter;
+    }
+
+    /**
+     * Creates a message handler that receives cache invalidations.
+     *
+     * @return Message Handler
+     */
+    @Bean
+    @ServiceActivator(inputChannel = CACHE_INVALIDATION_INPUT_CHANNEL)
+    public MessageHandler messageReceiverCacheInvalidation() {
+        return cacheInvalidationSubscriber;
+    }
 }
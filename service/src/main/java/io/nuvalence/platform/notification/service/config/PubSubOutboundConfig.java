@@ -1,8 +1,15 @@
 package io.nuvalence.platform.notification.service.config;
 
+import com.google.api.gax.batching.BatchingSettings;
+import com.google.api.gax.batching.FlowControlSettings;
+import com.google.api.gax.batching.FlowController;
 import com.google.cloud.spring.pubsub.PubSubAdmin;
 import com.google.cloud.spring.pubsub.core.PubSubTemplate;
+import com.google.cloud.spring.pubsub.core.publisher.PubSubPublisherOperations;
+import com.google.cloud.spring.pubsub.core.publisher.PublisherCustomizer;
 import com.google.cloud.spring.pubsub.integration.outbound.PubSubMessageHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -12,76 +19,233 @@ import org.springframework.integration.annotation.MessagingGateway;
 import org.springframework.integration.annotation.ServiceActivator;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHandler;
+import org.springframework.scheduling.annotation.AsyncResult;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configures PubSub Outbound.
  */
 @Slf4j
 @Configuration
+@SuppressWarnings("checkstyle:ClassFanOutComplexity")
 public class PubSubOutboundConfig {
 
-    private static final String OUTPUT_CHANNEL = "pubSubOutputChannel";
+    private static final String CACHE_INVALIDATION_OUTPUT_CHANNEL =
+            "cacheInvalidationOutputChannel";
     private final String topic;
+    private final String cacheInvalidationTopic;
     private final boolean createTopicAndSubs;
+    private final MeterRegistry meterRegistry;
 
     /**
      * PubSub config constructor.
      *
-     * @param topic              the name of the topic to publish messages to
-     * @param createTopicAndSubs whether to create the topic and subscription if they don't exist
+     * @param topic                  the name of the topic to publish messages to
+     * @param cacheInvalidationTopic the name of the topic to publish cache invalidations to
+     * @param createTopicAndSubs     whether to create the topic and subscription if they don't
+     *                               exist
+     * @param meterRegistry          registry the publish latency is published to
      */
     public PubSubOutboundConfig(
             @Value("${spring.cloud.gcp.pubsub.topic}") String topic,
-            @Value("${spring.cloud.gcp.pubsub.enableTopicCreation}") boolean createTopicAndSubs) {
+            @Value("${spring.cloud.gcp.pubsub.cacheInvalidationTopic}")
+                    String cacheInvalidationTopic,
+            @Value("${spring.cloud.gcp.pubsub.enableTopicCreation}") boolean createTopicAndSubs,
+            MeterRegistry meterRegistry) {
         this.topic = topic;
+        this.cacheInvalidationTopic = cacheInvalidationTopic;
         this.createTopicAndSubs = createTopicAndSubs;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Configures how publishers batch messages, so that a burst of requests shares Pub/Sub round
+     * trips instead of paying one each. The delay is set here rather than through the
+     * spring.cloud.gcp.pubsub.publisher.batching properties, which only accept whole seconds.
+     *
+     * @param enabled             whether to batch messages at all
+     * @param elementCount        number of messages that triggers sending a batch
+     * @param requestBytes        size in bytes that triggers sending a batch
+     * @param delay               time after the first message that triggers sending a batch
+     * @param maxOutstanding      messages waiting to be published before publishing blocks
+     * @param maxOutstandingBytes bytes waiting to be published before publishing blocks
+     * @return Publisher Customizer
+     */
+    @Bean
+    public PublisherCustomizer publisherBatchingCustomizer(
+            @Value("${spring.cloud.gcp.pubsub.publisherBatching.enabled:true}") boolean enabled,
+            @Value("${spring.cloud.gcp.pubsub.publisherBatching.elementCount:100}")
+                    long elementCount,
+            @Value("${spring.cloud.gcp.pubsub.publisherBatching.requestBytes:1000000}")
+                    long requestBytes,
+            @Value("${spring.cloud.gcp.pubsub.publisherBatching.delay:PT0.01S}") Duration delay,
+            @Value("${spring.cloud.gcp.pubsub.publisherBatching.maxOutstanding:10000}")
+                    long maxOutstanding,
+            @Value("${spring.cloud.gcp.pubsub.publisherBatching.maxOutstandingBytes:100000000}")
+                    long maxOutstandingBytes) {
+        BatchingSettings batchingSettings =
+                BatchingSettings.newBuilder()
+                        .setIsEnabled(enabled)
+                        .setElementCountThreshold(elementCount)
+                        .setRequestByteThreshold(requestBytes)
+                        .setDelayThreshold(org.threeten.bp.Duration.ofNanos(delay.toNanos()))
+                        .setFlowControlSettings(
+                                FlowControlSettings.newBuilder()
+                                        .setMaxOutstandingElementCount(maxOutstanding)
+                                        .setMaxOutstandingRequestBytes(maxOutstandingBytes)
+                                        .setLimitExceededBehavior(
+                                                FlowController.LimitExceededBehavior.Block)
+                                        .build())
+                        .build();
+        return (builder, publisherTopic) -> builder.setBatchingSettings(batchingSettings);
     }
 
     /**
-     * Creates a message handler that sends messages to PubSub.
+     * Creates the publisher that sends queued messages to PubSub.
      *
      * @param pubsubTemplate PubSub Message Template
      * @param admin PubSub Admin
-     * @return Message Handler
+     * @return Message Publisher
      */
     @Bean
     @ConditionalOnProperty(
             value = "spring.cloud.gcp.pubsub.enabled",
             havingValue = "true",
             matchIfMissing = true)
-    @ServiceActivator(inputChannel = OUTPUT_CHANNEL)
-    public MessageHandler messageSender(PubSubTemplate pubsubTemplate, PubSubAdmin admin) {
+    public MessagePublisher messagePublisher(PubSubTemplate pubsubTemplate, PubSubAdmin admin) {
         if (createTopicAndSubs && admin.getTopic(topic) == null) {
             log.info("Creating topic: {}", topic);
             admin.createTopic(topic);
         }
-        return new PubSubMessageHandler(pubsubTemplate, topic);
+        final Timer published = publishTimer(topic, "success", meterRegistry);
+        final Timer failed = publishTimer(topic, "failure", meterRegistry);
+        return payload -> {
+            final long start = System.nanoTime();
+            ListenableFuture<String> result = pubsubTemplate.publish(topic, payload);
+            result.addCallback(
+                    messageId -> published.record(System.nanoTime() - start, TimeUnit.NANOSECONDS),
+                    cause -> failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+            return result;
+        };
     }
 
     /**
-     * Creates a message handler for unit testing purposes.
+     * Creates a message publisher for unit testing purposes.
      *
-     * @return Message Handler
+     * @return Message Publisher
      */
     @Bean
     @ConditionalOnProperty(
             value = "spring.cloud.gcp.pubsub.enabled",
             havingValue = "false",
             matchIfMissing = true)
-    @ServiceActivator(inputChannel = OUTPUT_CHANNEL)
-    public MessageHandler localMessageSender() {
-        return message -> {
-            String payload = (String) message.getPayload();
+    public MessagePublisher localMessagePublisher() {
+        return payload -> {
             log.info("Message sent to local channel: {}", payload);
+            return AsyncResult.forValue(UUID.randomUUID().toString());
         };
     }
 
     /**
-     * Creates a message channel for PubSub.
+     * Creates a message handler that sends cache invalidations to PubSub.
+     *
+     * @param pubsubTemplate PubSub Message Template
+     * @param admin PubSub Admin
+     * @return Message Handler
+     */
+    @Bean
+    @ConditionalOnProperty(
+            value = "spring.cloud.gcp.pubsub.enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    @ServiceActivator(inputChannel = CACHE_INVALIDATION_OUTPUT_CHANNEL)
+    public MessageHandler cacheInvalidationSender(
+            PubSubTemplate pubsubTemplate, PubSubAdmin admin) {
+        if (createTopicAndSubs && admin.getTopic(cacheInvalidationTopic) == null) {
+            log.info("Creating topic: {}", cacheInvalidationTopic);
+            admin.createTopic(cacheInvalidationTopic);
+        }
+        return asyncMessageHandler(pubsubTemplate, cacheInvalidationTopic, meterRegistry);
+    }
+
+    /**
+     * Creates a handler that discards cache invalidations when PubSub is disabled. Without PubSub
+     * there are no other instances to notify, and this instance has already evicted its own caches
+     * when the change was made, so there is nothing left to broadcast.
+     *
+     * @return Message Handler
+     */
+    @Bean
+    @ConditionalOnProperty(
+            value = "spring.cloud.gcp.pubsub.enabled",
+            havingValue = "false",
+            matchIfMissing = true)
+    @ServiceActivator(inputChannel = CACHE_INVALIDATION_OUTPUT_CHANNEL)
+    public MessageHandler noOpCacheInvalidationSender() {
+        return message -> log.trace("PubSub disabled, cache invalidation not broadcast");
+    }
+
+    /**
+     * Creates a handler that hands messages to the batching publisher without waiting for Pub/Sub,
+     * and records how long each one took to be acknowledged, or to fail.
+     *
+     * @param publisher     PubSub publisher
+     * @param topic         topic to publish to
+     * @param meterRegistry registry the publish latency is published to
+     * @return Message Handler
+     */
+    static PubSubMessageHandler asyncMessageHandler(
+            PubSubPublisherOperations publisher, String topic, MeterRegistry meterRegistry) {
+        final Timer published = publishTimer(topic, "success", meterRegistry);
+        final Timer failed = publishTimer(topic, "failure", meterRegistry);
+
+        PubSubMessageHandler handler = new PubSubMessageHandler(publisher, topic);
+        handler.setSync(false);
+        handler.setSuccessCallback(
+                (messageId, message) -> {
+                    published.record(elapsedMillis(message), TimeUnit.MILLISECONDS);
+                    log.trace("Message {} published to {}", messageId, topic);
+                });
+        handler.setFailureCallback(
+                (cause, message) -> {
+                    failed.record(elapsedMillis(message), TimeUnit.MILLISECONDS);
+                    log.error("Message could not be published to {}", topic, cause);
+                });
+        return handler;
+    }
+
+    private static Timer publishTimer(String topic, String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("pubsub.publish")
+                .description("Time from handing a message to the publisher to its outcome")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static long elapsedMillis(Message<?> message) {
+        Long timestamp = message.getHeaders().getTimestamp();
+        return timestamp == null ? 0 : System.currentTimeMillis() - timestamp;
+    }
+
+    /**
+     * Publishes queued messages to PubSub.
+     *
+     */
+    @FunctionalInterface
+    public interface MessagePublisher {
+        ListenableFuture<String> publish(String payload);
+    }
+
+    /**
+     * Creates a message channel for cache invalidations.
      *
      */
-    @MessagingGateway(defaultRequestChannel = OUTPUT_CHANNEL)
-    public interface PubSubOutboundGateway {
+    @MessagingGateway(defaultRequestChannel = CACHE_INVALIDATION_OUTPUT_CHANNEL)
+    public interface CacheInvalidationOutboundGateway {
         void publish(Message<String> message);
     }
 }
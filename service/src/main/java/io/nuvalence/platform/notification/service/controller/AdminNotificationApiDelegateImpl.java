@@ -21,8 +21,10 @@ import io.nuvalence.platform.notification.service.service.TemplateService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.stream.Collectors;
 
@@ -153,12 +155,17 @@ public class AdminNotificationApiDelegateImpl implements AdminNotificationApiDel
     }
 
     @Override
-    public ResponseEntity<String> getLocalizationData(String localeTag) {
+    public ResponseEntity<StreamingResponseBody> getLocalizationData(String localeTag) {
         if (!authorizationHandler.isAllowed("view", MessageTemplate.class)) {
             throw new ForbiddenException();
         }
 
-        return ResponseEntity.ok(localizationService.getLocalizationData(localeTag));
+        // fail before the response is committed
+        localizationService.validateLocaleTag(localeTag);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_XML)
+                .body(output -> localizationService.writeLocalizationData(localeTag, output));
     }
 
     @Override
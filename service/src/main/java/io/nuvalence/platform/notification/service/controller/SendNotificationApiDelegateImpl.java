@@ -1,18 +1,29 @@
 package io.nuvalence.platform.notification.service.controller;
 
 import io.nuvalence.auth.access.AuthorizationHandler;
+import io.nuvalence.platform.notification.service.domain.Campaign;
 import io.nuvalence.platform.notification.service.domain.Message;
 import io.nuvalence.platform.notification.service.generated.controllers.SendNotificationApiDelegate;
+import io.nuvalence.platform.notification.service.generated.models.BulkMessageRequestModel;
+import io.nuvalence.platform.notification.service.generated.models.BulkMessageResponseModel;
+import io.nuvalence.platform.notification.service.generated.models.CampaignRequestModel;
+import io.nuvalence.platform.notification.service.generated.models.CampaignResponseModel;
 import io.nuvalence.platform.notification.service.generated.models.MessageRequestModel;
 import io.nuvalence.platform.notification.service.generated.models.MessageResponseModel;
+import io.nuvalence.platform.notification.service.mapper.CampaignMapperImpl;
 import io.nuvalence.platform.notification.service.mapper.MessageMapperImpl;
+import io.nuvalence.platform.notification.service.model.MessageSaveResult;
 import io.nuvalence.platform.notification.service.service.MessageService;
+import io.nuvalence.platform.notification.service.service.campaign.CampaignService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import javax.ws.rs.ForbiddenException;
 
@@ -26,6 +37,8 @@ public class SendNotificationApiDelegateImpl implements SendNotificationApiDeleg
 
     private final MessageMapperImpl messageMapperImpl;
     private final MessageService messageService;
+    private final CampaignMapperImpl campaignMapperImpl;
+    private final CampaignService campaignService;
     private final AuthorizationHandler authorizationHandler;
 
     @Override
@@ -40,6 +53,31 @@ public class SendNotificationApiDelegateImpl implements SendNotificationApiDeleg
         return ResponseEntity.ok(messageMapperImpl.messageToMessageResponseModel(message));
     }
 
+    @Override
+    public ResponseEntity<BulkMessageResponseModel> sendMessages(
+            BulkMessageRequestModel bulkMessageRequestModel) {
+        if (!authorizationHandler.isAllowed("send", Message.class)) {
+            throw new ForbiddenException();
+        }
+        List<MessageSaveResult> results =
+                messageService.saveAll(
+                        messageMapperImpl.messageRequestModelsToMessages(
+                                bulkMessageRequestModel.getMessages()));
+
+        BulkMessageResponseModel response = new BulkMessageResponseModel();
+        int accepted = 0;
+        for (MessageSaveResult result : results) {
+            if (result.isAccepted()) {
+                accepted++;
+            }
+            response.addResultsItem(
+                    messageMapperImpl.messageSaveResultToBulkMessageResultModel(result));
+        }
+        response.setAccepted(accepted);
+        response.setRejected(results.size() - accepted);
+        return ResponseEntity.ok(response);
+    }
+
     @Override
     public ResponseEntity<MessageResponseModel> getMessageById(String id) {
         if (!authorizationHandler.isAllowed("view", Message.class)) {
@@ -54,4 +92,57 @@ public class SendNotificationApiDelegateImpl implements SendNotificationApiDeleg
                                         messageMapperImpl.messageToMessageResponseModel(message)))
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    @Override
+    public ResponseEntity<CampaignResponseModel> createCampaign(
+            CampaignRequestModel campaignRequestModel) {
+        if (!authorizationHandler.isAllowed("send", Message.class)) {
+            throw new ForbiddenException();
+        }
+        List<String> recipients =
+                campaignRequestModel.getRecipients() == null
+                        ? List.of()
+                        : campaignRequestModel.getRecipients().stream()
+                                .map(UUID::toString)
+                                .collect(Collectors.toList());
+        Campaign campaign =
+                campaignService.create(
+                        campaignMapperImpl.campaignRequestModelToCampaign(campaignRequestModel),
+                        recipients);
+        return ResponseEntity.ok(campaignMapperImpl.campaignToCampaignResponseModel(campaign));
+    }
+
+    @Override
+    public ResponseEntity<CampaignResponseModel> addCampaignRecipients(
+            String id, MultipartFile file) {
+        if (!authorizationHandler.isAllowed("send", Message.class)) {
+            throw new ForbiddenException();
+        }
+        Campaign campaign = campaignService.addRecipients(UUID.fromString(id), file);
+        return ResponseEntity.ok(campaignMapperImpl.campaignToCampaignResponseModel(campaign));
+    }
+
+    @Override
+    public ResponseEntity<CampaignResponseModel> startCampaign(String id) {
+        if (!authorizationHandler.isAllowed("send", Message.class)) {
+            throw new ForbiddenException();
+        }
+        Campaign campaign = campaignService.start(UUID.fromString(id));
+        return ResponseEntity.ok(campaignMapperImpl.campaignToCampaignResponseModel(campaign));
+    }
+
+    @Override
+    public ResponseEntity<CampaignResponseModel> getCampaignById(String id) {
+        if (!authorizationHandler.isAllowed("view", Message.class)) {
+            throw new ForbiddenException();
+        }
+        return campaignService
+                .findBy(UUID.fromString(id))
+                .map(
+                        campaign ->
+                                ResponseEntity.ok(
+                                        campaignMapperImpl.campaignToCampaignResponseModel(
+                                                campaign)))
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
@@ -0,0 +1,73 @@
+package io.nuvalence.platform.notification.service.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * A template sent with shared parameters to a list of recipients. Recipients waiting for their
+ * message are kept as {@link CampaignRecipient}s, and are expanded into messages in the
+ * background once the campaign is started.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "campaign")
+public class Campaign {
+
+    public static final String CREATED_STATUS = "CREATED";
+    public static final String RUNNING_STATUS = "RUNNING";
+    public static final String COMPLETED_STATUS = "COMPLETED";
+
+    @Id
+    @GeneratedValue(generator = "uuid2")
+    @GenericGenerator(name = "uuid2", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(name = "id", length = 36, updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "message_template_key", nullable = false)
+    private String messageTemplateKey;
+
+    @Type(type = "io.hypersistence.utils.hibernate.type.json.JsonType")
+    @Column(name = "parameters", nullable = false)
+    private Map<String, String> parameters;
+
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    @Column(name = "total_recipients", nullable = false)
+    private long totalRecipients;
+
+    @Column(name = "processed_recipients", nullable = false)
+    private long processedRecipients;
+
+    @Column(name = "accepted_messages", nullable = false)
+    private long acceptedMessages;
+
+    @Column(name = "rejected_messages", nullable = false)
+    private long rejectedMessages;
+
+    @Column(name = "created_timestamp", nullable = false, updatable = false)
+    private OffsetDateTime createdTimestamp;
+
+    @Column(name = "started_timestamp")
+    private OffsetDateTime startedTimestamp;
+
+    @Column(name = "completed_timestamp")
+    private OffsetDateTime completedTimestamp;
+}
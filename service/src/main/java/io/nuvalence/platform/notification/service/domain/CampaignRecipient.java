@@ -0,0 +1,42 @@
+package io.nuvalence.platform.notification.service.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * A recipient of a campaign whose message has not been created yet.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "campaign_recipient")
+public class CampaignRecipient {
+
+    @Id
+    @GeneratedValue(generator = "uuid2")
+    @GenericGenerator(name = "uuid2", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(name = "id", length = 36, updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "campaign_id", nullable = false, updatable = false)
+    private UUID campaignId;
+
+    @Column(name = "sequence_number", nullable = false, updatable = false)
+    private long sequenceNumber;
+
+    @Column(name = "user_id", length = 64, nullable = false, updatable = false)
+    private String userId;
+}
@@ -3,6 +3,7 @@ package io.nuvalence.platform.notification.service.domain;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.hibernate.annotations.Fetch;
@@ -19,6 +20,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 
 /**
  * Entity representing a localized string template.
@@ -27,7 +29,8 @@ import javax.persistence.Table;
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
-@ToString
+@EqualsAndHashCode(exclude = "languageIndex")
+@ToString(exclude = "languageIndex")
 @Entity
 @Table(name = "localized_string_template")
 public class LocalizedStringTemplate {
@@ -43,4 +46,10 @@ public class LocalizedStringTemplate {
             cascade = CascadeType.ALL)
     @Fetch(value = FetchMode.SELECT)
     private List<LocalizedStringTemplateLanguage> localizedTemplateStrings;
+
+    /**
+     * Lookup of the variants by language, set on the read-only snapshots the template cache
+     * hands out. Null on managed entities, whose variants may still change.
+     */
+    @Transient private LocalizedStringTemplateIndex languageIndex;
 }
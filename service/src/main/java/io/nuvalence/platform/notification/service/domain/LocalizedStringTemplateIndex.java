@@ -0,0 +1,158 @@
+package io.nuvalence.platform.notification.service.domain;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable lookup of the variants of a {@link LocalizedStringTemplate} by language tag, built
+ * once when the template is loaded so that picking the variant of a message does not scan the
+ * variants nor allocate.
+ *
+ * <p>A language tag is resolved following the BCP 47 lookup: the tag itself, then the tag with
+ * its last subtag removed, and so on down to the primary language subtag (e.g. {@code es-419}, then
+ * {@code es}). At the primary language, a variant of exactly that language is preferred over the
+ * first variant listed for any of its regions. When nothing matches, the variant the default locale
+ * resolves to is returned, if any. Tags are compared case-insensitively.</p>
+ */
+public final class LocalizedStringTemplateIndex {
+
+    private static final char SEPARATOR = '-';
+
+    private final Table tags;
+
+    private final Table primaryLanguages;
+
+    private final Optional<LocalizedStringTemplateLanguage> fallback;
+
+    private LocalizedStringTemplateIndex(
+            Map<String, Optional<LocalizedStringTemplateLanguage>> tags,
+            Map<String, Optional<LocalizedStringTemplateLanguage>> primaryLanguages,
+            String defaultLocale) {
+        this.tags = new Table(tags);
+        this.primaryLanguages = new Table(primaryLanguages);
+        this.fallback =
+                defaultLocale == null ? Optional.empty() : lookup(defaultLocale, Optional.empty());
+    }
+
+    /**
+     * Index the variants of a template.
+     *
+     * @param languages     variants of the template, in order of precedence
+     * @param defaultLocale language tag resolved when nothing matches, or null for no fallback
+     * @return index of the variants
+     */
+    public static LocalizedStringTemplateIndex of(
+            List<LocalizedStringTemplateLanguage> languages, String defaultLocale) {
+        Map<String, Optional<LocalizedStringTemplateLanguage>> tags = new LinkedHashMap<>();
+        Map<String, Optional<LocalizedStringTemplateLanguage>> primaryLanguages =
+                new LinkedHashMap<>();
+        if (languages != null) {
+            for (LocalizedStringTemplateLanguage language : languages) {
+                if (language.getLanguage() != null) {
+                    tags.putIfAbsent(
+                            language.getLanguage().toLowerCase(Locale.ROOT), Optional.of(language));
+                }
+            }
+            for (Map.Entry<String, Optional<LocalizedStringTemplateLanguage>> tag :
+                    tags.entrySet()) {
+                String primaryLanguage = tag.getKey().substring(0, primaryEnd(tag.getKey()));
+                primaryLanguages.putIfAbsent(
+                        primaryLanguage, tags.getOrDefault(primaryLanguage, tag.getValue()));
+            }
+        }
+        return new LocalizedStringTemplateIndex(tags, primaryLanguages, defaultLocale);
+    }
+
+    /**
+     * Get the variant to use for a language tag.
+     *
+     * @param language language tag, null for the default locale
+     * @return the variant, empty if neither the tag nor the default locale matches one
+     */
+    public Optional<LocalizedStringTemplateLanguage> resolve(String language) {
+        return language == null ? fallback : lookup(language, fallback);
+    }
+
+    private Optional<LocalizedStringTemplateLanguage> lookup(
+            String language, Optional<LocalizedStringTemplateLanguage> otherwise) {
+        final int primaryEnd = primaryEnd(language);
+        int end = language.length();
+        while (end > primaryEnd) {
+            int slot = tags.slot(language, end);
+            if (slot >= 0) {
+                return tags.values[slot];
+            }
+            end = truncate(language, end);
+        }
+        int slot = primaryLanguages.slot(language, primaryEnd);
+        return slot >= 0 ? primaryLanguages.values[slot] : otherwise;
+    }
+
+    private static int primaryEnd(String language) {
+        int separator = language.indexOf(SEPARATOR);
+        return separator < 0 ? language.length() : separator;
+    }
+
+    // drops the last subtag, along with a single character subtag left in front of it, since an
+    // extension or private use singleton means nothing on its own
+    private static int truncate(String language, int end) {
+        int cut = language.lastIndexOf(SEPARATOR, end - 1);
+        if (cut >= 2 && language.charAt(cut - 2) == SEPARATOR) {
+            cut -= 2;
+        }
+        return cut;
+    }
+
+    /**
+     * Open addressing hash table looked up by a prefix of a string, so that no substring has to be
+     * created to find a truncated tag. Keys are lower case.
+     */
+    private static final class Table {
+
+        private final String[] keys;
+
+        private final Optional<LocalizedStringTemplateLanguage>[] values;
+
+        private final int mask;
+
+        @SuppressWarnings("unchecked")
+        private Table(Map<String, Optional<LocalizedStringTemplateLanguage>> entries) {
+            int capacity = Integer.highestOneBit(Math.max(1, entries.size()) * 2) * 2;
+            this.keys = new String[capacity];
+            this.values = (Optional<LocalizedStringTemplateLanguage>[]) new Optional<?>[capacity];
+            this.mask = capacity - 1;
+            entries.forEach(
+                    (key, value) -> {
+                        int slot = hash(key, key.length()) & mask;
+                        while (keys[slot] != null) {
+                            slot = (slot + 1) & mask;
+                        }
+                        keys[slot] = key;
+                        values[slot] = value;
+                    });
+        }
+
+        private int slot(String language, int length) {
+            int slot = hash(language, length) & mask;
+            while (keys[slot] != null) {
+                if (keys[slot].length() == length
+                        && keys[slot].regionMatches(true, 0, language, 0, length)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int hash(String language, int length) {
+            int hash = 0;
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + Character.toLowerCase(language.charAt(i));
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -7,21 +7,17 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 import java.io.Serializable;
 import java.time.OffsetDateTime;
 import java.util.Map;
 import java.util.UUID;
 
-import javax.persistence.CollectionTable;
 import javax.persistence.Column;
-import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
-import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
-import javax.persistence.JoinColumn;
-import javax.persistence.MapKeyColumn;
 import javax.persistence.Table;
 
 /**
@@ -54,12 +50,8 @@ public class Message implements Serializable {
     @Column(name = "status")
     private String status;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @MapKeyColumn(name = "parameter_name")
-    @Column(name = "parameter_value")
-    @CollectionTable(
-            name = "message_parameter",
-            joinColumns = @JoinColumn(name = "message_id", nullable = false))
+    @Type(type = "io.hypersistence.utils.hibernate.type.json.JsonType")
+    @Column(name = "parameters", nullable = false)
     private Map<String, String> parameters;
 
     @Column(name = "requested_timestamp", updatable = false)
@@ -67,4 +59,13 @@ public class Message implements Serializable {
 
     @Column(name = "sent_timestamp")
     private OffsetDateTime sentTimestamp;
+
+    @Column(name = "attempt_count", nullable = false)
+    private int attemptCount;
+
+    @Column(name = "provider_message_id")
+    private String providerMessageId;
+
+    @Column(name = "provider_response_time_millis")
+    private Long providerResponseTimeMillis;
 }
@@ -0,0 +1,14 @@
+package io.nuvalence.platform.notification.service.exception;
+
+/**
+ * Exception thrown when a call to a downstream system could not get a permit from its bulkhead in
+ * time. The notification is left to be retried.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 5526377064182393145L;
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
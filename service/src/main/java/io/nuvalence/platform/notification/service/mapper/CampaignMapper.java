@@ -0,0 +1,31 @@
+package io.nuvalence.platform.notification.service.mapper;
+
+import io.nuvalence.platform.notification.service.domain.Campaign;
+import io.nuvalence.platform.notification.service.generated.models.CampaignRequestModel;
+import io.nuvalence.platform.notification.service.generated.models.CampaignResponseModel;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Mapper for campaigns.
+ */
+@Mapper(componentModel = "spring")
+public interface CampaignMapper {
+    /**
+     * Map a campaign request model to a campaign, without its recipients.
+     *
+     * @param campaignRequestModel campaign request model
+     * @return campaign
+     */
+    @Mapping(source = "templateKey", target = "messageTemplateKey")
+    Campaign campaignRequestModelToCampaign(CampaignRequestModel campaignRequestModel);
+
+    /**
+     * Map a campaign to a campaign response model.
+     *
+     * @param campaign campaign
+     * @return campaign response model
+     */
+    @Mapping(source = "messageTemplateKey", target = "templateKey")
+    CampaignResponseModel campaignToCampaignResponseModel(Campaign campaign);
+}
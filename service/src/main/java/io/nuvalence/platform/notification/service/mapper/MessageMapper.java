@@ -1,11 +1,15 @@
 package io.nuvalence.platform.notification.service.mapper;
 
 import io.nuvalence.platform.notification.service.domain.Message;
+import io.nuvalence.platform.notification.service.generated.models.BulkMessageResultModel;
 import io.nuvalence.platform.notification.service.generated.models.MessageRequestModel;
 import io.nuvalence.platform.notification.service.generated.models.MessageResponseModel;
+import io.nuvalence.platform.notification.service.model.MessageSaveResult;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.List;
+
 /**
  * Mapper for messages.
  */
@@ -28,4 +32,22 @@ public interface MessageMapper {
      */
     @Mapping(source = "messageTemplateKey", target = "templateKey")
     MessageResponseModel messageToMessageResponseModel(Message message);
+
+    /**
+     * Map message request models to messages.
+     *
+     * @param messageRequestModels message request models
+     * @return messages
+     */
+    List<Message> messageRequestModelsToMessages(List<MessageRequestModel> messageRequestModels);
+
+    /**
+     * Map the outcome of saving one message of a bulk request to its result model.
+     *
+     * @param messageSaveResult outcome of saving the message
+     * @return bulk message result model
+     */
+    @Mapping(source = "message.id", target = "id")
+    BulkMessageResultModel messageSaveResultToBulkMessageResultModel(
+            MessageSaveResult messageSaveResult);
 }
@@ -0,0 +1,38 @@
+package io.nuvalence.platform.notification.service.model;
+
+import io.nuvalence.platform.notification.service.domain.Message;
+import lombok.Value;
+
+/**
+ * Outcome of saving one message of a bulk request.
+ */
+@Value
+public class MessageSaveResult {
+
+    /**
+     * Position of the message in the request.
+     */
+    int index;
+
+    /**
+     * The queued message, or null if it was rejected.
+     */
+    Message message;
+
+    /**
+     * Reason the message was rejected, or null if it was queued.
+     */
+    String error;
+
+    public static MessageSaveResult accepted(int index, Message message) {
+        return new MessageSaveResult(index, message, null);
+    }
+
+    public static MessageSaveResult rejected(int index, String error) {
+        return new MessageSaveResult(index, null, error);
+    }
+
+    public boolean isAccepted() {
+        return message != null;
+    }
+}
@@ -0,0 +1,28 @@
+package io.nuvalence.platform.notification.service.model;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Outcome of handing a message to an email or SMS provider.
+ */
+@Value
+public class ProviderResponse {
+
+    /**
+     * Id the provider assigned to the message, or null if it did not return one.
+     */
+    String providerMessageId;
+
+    /**
+     * When the provider accepted the message.
+     */
+    OffsetDateTime sentTimestamp;
+
+    /**
+     * Time the provider took to accept the message.
+     */
+    Duration responseTime;
+}
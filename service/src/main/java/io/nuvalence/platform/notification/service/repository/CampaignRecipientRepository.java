@@ -0,0 +1,24 @@
+package io.nuvalence.platform.notification.service.repository;
+
+import io.nuvalence.platform.notification.service.domain.CampaignRecipient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Campaign recipient repository.
+ */
+public interface CampaignRecipientRepository extends CrudRepository<CampaignRecipient, UUID> {
+
+    List<CampaignRecipient> findByCampaignIdOrderBySequenceNumber(UUID campaignId, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM CampaignRecipient r WHERE r.id IN :ids")
+    void deleteByIds(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,51 @@
+package io.nuvalence.platform.notification.service.repository;
+
+import io.nuvalence.platform.notification.service.domain.Campaign;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+/**
+ * Campaign repository.
+ */
+public interface CampaignRepository extends CrudRepository<Campaign, UUID> {
+
+    /**
+     * Locks a campaign, so that its recipients and status are changed by one transaction at a
+     * time.
+     *
+     * @param id id of the campaign
+     * @return the locked campaign, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Campaign c WHERE c.id = :id")
+    Optional<Campaign> lockById(@Param("id") UUID id);
+
+    /**
+     * Locks the longest running campaigns that no other transaction has locked, so that
+     * concurrent runners never expand the same recipients.
+     *
+     * @param page first page, of the maximum number of campaigns
+     * @return locked campaigns, longest running first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(
+            @QueryHint(
+                    name = "javax.persistence.lock.timeout",
+                    value = MessageOutboxRepository.SKIP_LOCKED))
+    @Query(
+            "SELECT c FROM Campaign c WHERE c.status = '"
+                    + Campaign.RUNNING_STATUS
+                    + "' ORDER BY c.startedTimestamp")
+    List<Campaign> lockNextRunning(Pageable page);
+}
@@ -0,0 +1,66 @@
+package io.nuvalence.platform.notification.service.repository;
+
+import io.nuvalence.platform.notification.service.domain.MessageOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+/**
+ * Message outbox repository.
+ */
+public interface MessageOutboxRepository extends CrudRepository<MessageOutboxEntry, UUID> {
+
+    /**
+     * Lock timeout Hibernate renders as SKIP LOCKED, on dialects that support it.
+     */
+    String SKIP_LOCKED = "-2";
+
+    /**
+     * Locks the entries due for an attempt that no other transaction has locked, so that
+     * concurrent relays never publish the same entry. Entries that used up their attempts are
+     * left out.
+     *
+     * @param maxAttempts number of attempts after which an entry is no longer published
+     * @param now         current time
+     * @param page        first page, of the maximum number of entries
+     * @return locked entries, longest due first
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query(
+            "SELECT e FROM MessageOutboxEntry e"
+                    + " WHERE e.attempts < :maxAttempts AND e.nextAttemptTimestamp <= :now"
+                    + " ORDER BY e.nextAttemptTimestamp")
+    List<MessageOutboxEntry> lockNextBatch(
+            @Param("maxAttempts") int maxAttempts, @Param("now") OffsetDateTime now, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM MessageOutboxEntry e WHERE e.id IN :ids")
+    void deleteByIds(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query(
+            "UPDATE MessageOutboxEntry e SET e.nextAttemptTimestamp = :nextAttempt"
+                    + " WHERE e.id IN :ids")
+    void scheduleNextAttempt(
+            @Param("ids") Collection<UUID> ids, @Param("nextAttempt") OffsetDateTime nextAttempt);
+
+    @Modifying
+    @Query(
+            "UPDATE MessageOutboxEntry e SET e.attempts = e.attempts + 1,"
+                    + " e.nextAttemptTimestamp = :nextAttempt WHERE e.id IN :ids")
+    void recordFailedAttempt(
+            @Param("ids") Collection<UUID> ids, @Param("nextAttempt") OffsetDateTime nextAttempt);
+}
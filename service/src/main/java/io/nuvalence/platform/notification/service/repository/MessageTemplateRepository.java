@@ -1,9 +1,13 @@
 package io.nuvalence.platform.notification.service.repository;
 
 import io.nuvalence.platform.notification.service.domain.MessageTemplate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,4 +24,28 @@ public interface MessageTemplateRepository
      * @return message template
      */
     Optional<MessageTemplate> findFirstByKeyOrderByVersionDesc(String key);
+
+    /**
+     * Obtain the first message templates in key and version order.
+     *
+     * @param pageable size of the page; only the first page is meant to be read this way
+     * @return message templates in the page
+     */
+    List<MessageTemplate> findByOrderByKeyAscVersionAsc(Pageable pageable);
+
+    /**
+     * Obtain the message templates following the given key and version, in key and version order.
+     * Unlike reading pages by offset, templates created or deleted in between do not shift the
+     * templates that follow.
+     *
+     * @param key      key of the last template already read
+     * @param version  version of the last template already read
+     * @param pageable size of the page; only the first page is meant to be read this way
+     * @return message templates in the page
+     */
+    @Query(
+            "SELECT t FROM MessageTemplate t WHERE t.key > :key OR (t.key = :key AND t.version >"
+                    + " :version) ORDER BY t.key, t.version")
+    List<MessageTemplate> findPageAfter(
+            @Param("key") String key, @Param("version") Integer version, Pageable pageable);
 }
@@ -6,7 +6,11 @@ import io.nuvalence.platform.notification.service.domain.EmailLayout;
 import io.nuvalence.platform.notification.service.exception.BadDataException;
 import io.nuvalence.platform.notification.service.model.SearchEmailLayoutFilter;
 import io.nuvalence.platform.notification.service.repository.EmailLayoutRepository;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkheads;
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent;
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent.ResourceType;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,16 +31,27 @@ public class EmailLayoutService {
 
     private final EmailLayoutRepository emailLayoutRepository;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     private final Handlebars handlebars;
 
+    private final Bulkheads bulkheads;
+
     /**
      * Constructor.
      *
      * @param emailLayoutRepository Email Layout Repository
+     * @param eventPublisher        publisher for cache invalidation events
+     * @param bulkheads             downstream bulkheads
      */
-    public EmailLayoutService(EmailLayoutRepository emailLayoutRepository) {
+    public EmailLayoutService(
+            EmailLayoutRepository emailLayoutRepository,
+            ApplicationEventPublisher eventPublisher,
+            Bulkheads bulkheads) {
         this.emailLayoutRepository = emailLayoutRepository;
+        this.eventPublisher = eventPublisher;
         this.handlebars = new Handlebars();
+        this.bulkheads = bulkheads;
     }
 
     /**
@@ -68,7 +83,9 @@ public class EmailLayoutService {
             existingEmailLayout.setContent(emailLayout.getContent());
             existingEmailLayout.setInputs(emailLayout.getInputs());
             existingEmailLayout.setLastUpdatedTimestamp(now);
-            return emailLayoutRepository.save(existingEmailLayout);
+            EmailLayout savedEmailLayout = emailLayoutRepository.save(existingEmailLayout);
+            publishInvalidation(key);
+            return savedEmailLayout;
         }
 
         emailLayout.setKey(key);
@@ -77,7 +94,9 @@ public class EmailLayoutService {
         emailLayout.setCreatedBy(getCreatedBy().orElse(null));
         emailLayout.setCreatedTimestamp(now);
         emailLayout.setLastUpdatedTimestamp(now);
-        return emailLayoutRepository.save(emailLayout);
+        EmailLayout savedEmailLayout = emailLayoutRepository.save(emailLayout);
+        publishInvalidation(key);
+        return savedEmailLayout;
     }
 
     /**
@@ -87,7 +106,9 @@ public class EmailLayoutService {
      * @return Email Layout
      */
     public Optional<EmailLayout> getEmailLayout(final String key) {
-        return emailLayoutRepository.findFirstByKeyOrderByVersionDesc(key);
+        return bulkheads
+                .getDatabase()
+                .call(() -> emailLayoutRepository.findFirstByKeyOrderByVersionDesc(key));
     }
 
     /**
@@ -101,6 +122,11 @@ public class EmailLayoutService {
                 filter.getEmailLayoutSpecifications(), filter.getPageRequest());
     }
 
+    private void publishInvalidation(String key) {
+        eventPublisher.publishEvent(
+                new TemplateCacheInvalidationEvent(ResourceType.EMAIL_LAYOUT, key));
+    }
+
     private Optional<String> getCreatedBy() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String createdByUserId = null;
@@ -1,22 +1,33 @@
 package io.nuvalence.platform.notification.service.service;
 
 import static io.nuvalence.platform.notification.service.service.MessageBuilderUtils.getLocalizedTemplate;
-import static io.nuvalence.platform.notification.service.service.MessageBuilderUtils.replaceParameterInTemplate;
 
-import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.nuvalence.platform.notification.service.domain.EmailFormat;
+import io.nuvalence.platform.notification.service.domain.EmailFormatContent;
 import io.nuvalence.platform.notification.service.domain.EmailLayout;
 import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplateLanguage;
 import io.nuvalence.platform.notification.service.domain.Message;
 import io.nuvalence.platform.notification.service.domain.MessageTemplate;
 import io.nuvalence.platform.notification.service.exception.UnprocessableNotificationException;
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
+import io.nuvalence.platform.notification.service.service.cache.CompiledTemplateCache;
+import io.nuvalence.platform.notification.service.service.cache.CompiledTemplateKey;
+import io.nuvalence.platform.notification.service.service.cache.EmailRenderPlan;
+import io.nuvalence.platform.notification.service.service.cache.EmailRenderPlan.RenderedEmail;
+import io.nuvalence.platform.notification.service.service.cache.EmailRenderPlanCache;
+import io.nuvalence.platform.notification.service.service.cache.EmailRenderPlanKey;
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent.ResourceType;
 import io.nuvalence.platform.notification.usermanagent.client.generated.models.UserDTO;
 import io.nuvalence.platform.notification.usermanagent.client.generated.models.UserPreferenceDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -25,31 +36,60 @@ import java.util.Optional;
  */
 @Slf4j
 @Service
+@SuppressWarnings("checkstyle:ClassFanOutComplexity")
 public class EmailMessageProvider implements SendMessageProvider {
 
     private static final String SUPPORTED_METHOD = "email";
 
+    private static final String SUBJECT_PART = "subject";
+
+    private static final String CONTENT_PART_PREFIX = "content:";
+
+    private static final String LAYOUT_PART = "layout";
+
     private final EmailLayoutService emailLayoutService;
 
     private final EmailProvider emailProvider;
 
-    private final Handlebars handlebars;
+    private final CompiledTemplateCache compiledTemplateCache;
+
+    private final EmailRenderPlanCache emailRenderPlanCache;
+
+    private final String defaultLocale;
+
+    private final Timer renderTimer;
 
     /**
      * Constructor.
      *
-     * @param emailLayoutService email layout service
-     * @param emailProvider      email provider
+     * @param emailLayoutService    email layout service
+     * @param emailProvider         email provider
+     * @param compiledTemplateCache compiled template cache
+     * @param emailRenderPlanCache  email render plan cache
+     * @param defaultLocale         language tag used when a template is not in the user's language
+     * @param meterRegistry         registry the rendering latency is published to
      */
     public EmailMessageProvider(
-            EmailLayoutService emailLayoutService, EmailProvider emailProvider) {
+            EmailLayoutService emailLayoutService,
+            EmailProvider emailProvider,
+            CompiledTemplateCache compiledTemplateCache,
+            EmailRenderPlanCache emailRenderPlanCache,
+            @Value("${localization.default-locale}") String defaultLocale,
+            MeterRegistry meterRegistry) {
         this.emailLayoutService = emailLayoutService;
         this.emailProvider = emailProvider;
-        this.handlebars = new Handlebars();
+        this.compiledTemplateCache = compiledTemplateCache;
+        this.emailRenderPlanCache = emailRenderPlanCache;
+        this.defaultLocale = defaultLocale;
+        this.renderTimer =
+                Timer.builder("notification.render")
+                        .description("Rendering of a message with its templates")
+                        .tag("channel", SUPPORTED_METHOD)
+                        .register(meterRegistry);
     }
 
     @Override
-    public void sendMessage(UserDTO user, Message message, MessageTemplate template)
+    public ProviderResponse sendMessage(UserDTO user, Message message, MessageTemplate template)
             throws IOException {
         UserPreferenceDTO userPreferences = user.getPreferences();
 
@@ -64,11 +104,35 @@ public class EmailMessageProvider implements SendMessageProvider {
             throw new UnprocessableNotificationException(emailLayoutNotFound);
         }
 
+        final Timer.Sample rendering = Timer.start();
+        EmailLayout layout = emailLayout.get();
+        String language = userPreferences.getPreferredLanguage();
+        EmailRenderPlan renderPlan =
+                emailRenderPlanCache.get(
+                        new EmailRenderPlanKey(
+                                template.getKey(),
+                                template.getVersion(),
+                                layout.getKey(),
+                                layout.getVersion(),
+                                language),
+                        key -> compileRenderPlan(user, template, layout, language));
+        RenderedEmail email = renderPlan.render(message.getParameters());
+        rendering.stop(renderTimer);
+
+        return emailProvider.sendEmail(user.getEmail(), email.getSubject(), email.getBody());
+    }
+
+    @Override
+    public String supportedMethod() {
+        return SUPPORTED_METHOD;
+    }
+
+    private EmailRenderPlan compileRenderPlan(
+            UserDTO user, MessageTemplate template, EmailLayout layout, String language) {
         EmailFormat emailFormat = template.getEmailFormat();
         Optional<LocalizedStringTemplateLanguage> emailSubjectTemplate =
                 getLocalizedTemplate(
-                        emailFormat.getLocalizedSubjectStringTemplate(),
-                        userPreferences.getPreferredLanguage());
+                        emailFormat.getLocalizedSubjectStringTemplate(), language, defaultLocale);
         if (emailSubjectTemplate.isEmpty()) {
             String emailSubjectTemplateNotFound =
                     String.format(
@@ -77,47 +141,59 @@ public class EmailMessageProvider implements SendMessageProvider {
             log.error(emailSubjectTemplateNotFound);
             throw new UnprocessableNotificationException(emailSubjectTemplateNotFound);
         }
+        Template subject =
+                compiledTemplateCache.get(
+                        templateKey(template, SUBJECT_PART, emailSubjectTemplate.get()),
+                        emailSubjectTemplate.get().getTemplate());
 
-        String subjectEmail =
-                replaceParameterInTemplate(
-                        emailSubjectTemplate.get().getTemplate(),
-                        message.getParameters(),
-                        handlebars);
-        Map<String, String> emailLayoutInputToTemplate = new HashMap<>();
-        emailFormat
-                .getEmailFormatContents()
-                .forEach(
-                        emailFormatContent -> {
-                            Optional<LocalizedStringTemplateLanguage> emailContentTemplate =
-                                    getLocalizedTemplate(
-                                            emailFormatContent.getLocalizedStringTemplate(),
-                                            userPreferences.getPreferredLanguage());
-                            if (emailContentTemplate.isEmpty()) {
-                                String emailContentTemplateNotFound =
-                                        String.format(
-                                                "Could not send %s email to user %s, subject"
-                                                        + " template not found",
-                                                template.getKey(), user.getId());
-                                log.error(emailContentTemplateNotFound);
-                                throw new UnprocessableNotificationException(
-                                        emailContentTemplateNotFound);
-                            }
-                            emailLayoutInputToTemplate.put(
-                                    emailFormatContent.getEmailLayoutInput(),
-                                    replaceParameterInTemplate(
-                                            emailContentTemplate.get().getTemplate(),
-                                            message.getParameters(),
-                                            handlebars));
-                        });
-        String emailBodyToSend =
-                replaceParameterInTemplate(
-                        emailLayout.get().getContent(), emailLayoutInputToTemplate, handlebars);
-
-        emailProvider.sendEmail(user.getEmail(), subjectEmail, emailBodyToSend);
+        Map<String, Template> contents = new LinkedHashMap<>();
+        for (EmailFormatContent emailFormatContent : emailFormat.getEmailFormatContents()) {
+            Optional<LocalizedStringTemplateLanguage> emailContentTemplate =
+                    getLocalizedTemplate(
+                            emailFormatContent.getLocalizedStringTemplate(),
+                            language,
+                            defaultLocale);
+            if (emailContentTemplate.isEmpty()) {
+                String emailContentTemplateNotFound =
+                        String.format(
+                                "Could not send %s email to user %s, content template not found"
+                                        + " for input %s",
+                                template.getKey(),
+                                user.getId(),
+                                emailFormatContent.getEmailLayoutInput());
+                log.error(emailContentTemplateNotFound);
+                throw new UnprocessableNotificationException(emailContentTemplateNotFound);
+            }
+            contents.put(
+                    emailFormatContent.getEmailLayoutInput(),
+                    compiledTemplateCache.get(
+                            templateKey(
+                                    template,
+                                    CONTENT_PART_PREFIX + emailFormatContent.getEmailLayoutInput(),
+                                    emailContentTemplate.get()),
+                            emailContentTemplate.get().getTemplate()));
+        }
+
+        Template layoutTemplate =
+                compiledTemplateCache.get(
+                        new CompiledTemplateKey(
+                                ResourceType.EMAIL_LAYOUT,
+                                layout.getKey(),
+                                layout.getVersion(),
+                                LAYOUT_PART,
+                                null),
+                        layout.getContent());
+        return new EmailRenderPlan(
+                subject, contents, layoutTemplate, compiledTemplateCache.getEscapingStrategy());
     }
 
-    @Override
-    public String supportedMethod() {
-        return SUPPORTED_METHOD;
+    private static CompiledTemplateKey templateKey(
+            MessageTemplate template, String part, LocalizedStringTemplateLanguage localized) {
+        return new CompiledTemplateKey(
+                ResourceType.MESSAGE_TEMPLATE,
+                template.getKey(),
+                template.getVersion(),
+                part,
+                localized.getLanguage());
     }
 }
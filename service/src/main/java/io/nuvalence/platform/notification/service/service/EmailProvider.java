@@ -1,5 +1,7 @@
 package io.nuvalence.platform.notification.service.service;
 
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
+
 import java.io.IOException;
 
 /**
@@ -12,7 +14,8 @@ public interface EmailProvider {
      * @param to recipient.
      * @param subject email subject.
      * @param body email body.
+     * @return the provider's response.
      * @throws IOException possibly thrown by apis.
      */
-    void sendEmail(String to, String subject, String body) throws IOException;
+    ProviderResponse sendEmail(String to, String subject, String body) throws IOException;
 }
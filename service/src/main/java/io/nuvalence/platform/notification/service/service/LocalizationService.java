@@ -8,25 +8,30 @@ import io.nuvalence.platform.notification.service.domain.MessageTemplate;
 import io.nuvalence.platform.notification.service.domain.SmsFormat;
 import io.nuvalence.platform.notification.service.exception.BadDataException;
 import io.nuvalence.platform.notification.service.repository.MessageTemplateRepository;
+import io.nuvalence.platform.notification.service.utils.MinifiedXliffWriter;
 import io.nuvalence.platform.notification.service.utils.XmlUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.okapi.common.Event;
 import net.sf.okapi.common.EventType;
 import net.sf.okapi.common.LocaleId;
-import net.sf.okapi.common.filterwriter.XLIFFWriter;
 import net.sf.okapi.common.resource.ITextUnit;
 import net.sf.okapi.common.resource.RawDocument;
 import net.sf.okapi.common.resource.StartGroup;
-import net.sf.okapi.common.resource.TextFragment;
-import net.sf.okapi.common.resource.TextUnit;
 import net.sf.okapi.filters.xliff.XLIFFFilter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -37,6 +42,7 @@ import java.util.Objects;
 import java.util.Optional;
 
 import javax.annotation.PostConstruct;
+import javax.xml.stream.XMLStreamException;
 
 /**
  * Service to handle localization data.
@@ -49,9 +55,14 @@ public class LocalizationService {
 
     private final MessageTemplateRepository templateRepository;
 
+    private final PlatformTransactionManager transactionManager;
+
     @Value("${localization.default-locale}")
     private String defaultLocale;
 
+    @Value("${localization.export-page-size:100}")
+    private int exportPageSize;
+
     @PostConstruct
     public void init() {
         // validate defaultLocale on startup
@@ -86,56 +97,114 @@ public class LocalizationService {
 
         validateLocaleTag(localeTag);
 
-        List<MessageTemplate> templates = templateRepository.findAll();
-
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try {
+            writeLocalizationData(localeTag, baos);
+        } catch (IOException e) {
+            throw new BadDataException("Error generating localization data" + e.getMessage());
+        }
+        return baos.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the localization data for a given locale tag to a stream as minified XLIFF. Templates
+     * are read a page at a time in key and version order, each page in its own read-only
+     * transaction, and written as they are read, so that memory use does not grow with the number
+     * of templates. Each page starts after the last template written rather than at an offset, so
+     * templates created or deleted meanwhile cannot make others be skipped or written twice.
+     * @param localeTag an IETF BCP 47 locale tag to be used as target locale
+     * @param output stream the XLIFF document is written to; it is not closed
+     * @throws IOException when the stream cannot be written to
+     * @throws BadDataException when the locale tag is not valid, or the localization data holds
+     *     characters XML does not allow, in which case the document written so far is incomplete
+     */
+    public void writeLocalizationData(String localeTag, OutputStream output) throws IOException {
+
+        validateLocaleTag(localeTag);
 
-        try (XLIFFWriter writer = new XLIFFWriter()) {
+        LocaleId sourceLocale = LocaleId.fromString(defaultLocale);
+        LocaleId targetLocale = LocaleId.fromString(localeTag);
 
-            LocaleId sourceLocale = LocaleId.fromString(defaultLocale);
-            LocaleId targetLocale = LocaleId.fromString(localeTag);
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
 
-            writer.setOutput(baos);
+        try (MinifiedXliffWriter writer = new MinifiedXliffWriter(output)) {
 
-            writer.create(
-                    null,
-                    null,
-                    sourceLocale,
-                    targetLocale,
-                    "plaintext",
+            writer.startDocument(
                     "notification-service",
+                    sourceLocale.toBCP47(),
+                    targetLocale.toBCP47(),
+                    "x-plaintext",
                     " Please use 'resname' attribute on all 'group' and 'trans-unit' elements ");
 
-            templates.forEach(template -> writeTemplateGroup(writer, template, targetLocale));
-            writer.close();
-            return XmlUtils.xmlValidateAndMinify(baos.toString(StandardCharsets.UTF_8));
+            Pageable page = PageRequest.of(0, exportPageSize);
+            Pair<String, Integer> last =
+                    transactionTemplate.execute(
+                            status ->
+                                    writeTemplateGroups(
+                                            writer,
+                                            templateRepository.findByOrderByKeyAscVersionAsc(page),
+                                            targetLocale));
+            while (last != null) {
+                final Pair<String, Integer> after = last;
+                last =
+                        transactionTemplate.execute(
+                                status ->
+                                        writeTemplateGroups(
+                                                writer,
+                                                templateRepository.findPageAfter(
+                                                        after.getFirst(), after.getSecond(), page),
+                                                targetLocale));
+            }
 
-        } catch (Exception e) {
-            throw new BadDataException("Error generating localization data" + e.getMessage());
+            writer.endDocument();
+
+        } catch (XMLStreamException e) {
+            throw new IOException("Error generating localization data", e);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // writes a page of templates, returning the key and version of the last one, or null after
+    // the last page
+    private Pair<String, Integer> writeTemplateGroups(
+            MinifiedXliffWriter writer, List<MessageTemplate> templates, LocaleId targetLocale) {
+
+        try {
+            for (MessageTemplate template : templates) {
+                writeTemplateGroup(writer, template, targetLocale);
+            }
+        } catch (XMLStreamException e) {
+            throw new UncheckedIOException(
+                    new IOException("Error generating localization data", e));
+        }
+        if (templates.size() < exportPageSize) {
+            return null;
         }
+        MessageTemplate last = templates.get(templates.size() - 1);
+        return Pair.of(last.getKey(), last.getVersion());
     }
 
     private void writeTemplateGroup(
-            XLIFFWriter writer, MessageTemplate template, LocaleId targetLocale) {
+            MinifiedXliffWriter writer, MessageTemplate template, LocaleId targetLocale)
+            throws XMLStreamException {
 
-        var group = new StartGroup(null, template.getKey());
-        group.setName(template.getKey());
-        writer.writeStartGroup(group);
+        writer.startGroup(template.getKey());
 
         writeSmsGroup(writer, template, targetLocale);
 
         writeEmailGroup(writer, template, targetLocale);
 
-        writer.writeEndGroup();
+        writer.endGroup();
     }
 
     private void writeEmailGroup(
-            XLIFFWriter writer, MessageTemplate template, LocaleId targetLocale) {
+            MinifiedXliffWriter writer, MessageTemplate template, LocaleId targetLocale)
+            throws XMLStreamException {
 
         String emailResname = "email";
-        var group = new StartGroup(null, emailResname);
-        group.setName(emailResname);
-        writer.writeStartGroup(group);
+        writer.startGroup(emailResname);
 
         var emailFormat = template.getEmailFormat();
 
@@ -150,16 +219,15 @@ public class LocalizationService {
 
         writeEmailContents(writer, emailFormat, targetLocale);
 
-        writer.writeEndGroup();
+        writer.endGroup();
     }
 
     private void writeEmailContents(
-            XLIFFWriter writer, EmailFormat emailFormat, LocaleId targetLocale) {
+            MinifiedXliffWriter writer, EmailFormat emailFormat, LocaleId targetLocale)
+            throws XMLStreamException {
         // contents
         String contentResname = "content";
-        var group = new StartGroup(null, contentResname);
-        group.setName(contentResname);
-        writer.writeStartGroup(group);
+        writer.startGroup(contentResname);
 
         var formatContents =
                 Optional.ofNullable(emailFormat)
@@ -178,7 +246,7 @@ public class LocalizationService {
             writeTextUnit(writer, resourceName, langStrings, targetLocale);
         }
 
-        writer.writeEndGroup();
+        writer.endGroup();
     }
 
     private List<EmailFormatContent> formatContentsDeduplicate(
@@ -193,12 +261,11 @@ public class LocalizationService {
     }
 
     private void writeSmsGroup(
-            XLIFFWriter writer, MessageTemplate template, LocaleId targetLocale) {
+            MinifiedXliffWriter writer, MessageTemplate template, LocaleId targetLocale)
+            throws XMLStreamException {
 
         String smsResname = "sms";
-        var group = new StartGroup(null, smsResname);
-        group.setName(smsResname);
-        writer.writeStartGroup(group);
+        writer.startGroup(smsResname);
 
         var langStrings =
                 Optional.ofNullable(template)
@@ -209,14 +276,15 @@ public class LocalizationService {
 
         writeTextUnit(writer, "message", langStrings, targetLocale);
 
-        writer.writeEndGroup();
+        writer.endGroup();
     }
 
     private void writeTextUnit(
-            XLIFFWriter writer,
+            MinifiedXliffWriter writer,
             String resourceName,
             List<LocalizedStringTemplateLanguage> langStrings,
-            LocaleId targetLocale) {
+            LocaleId targetLocale)
+            throws XMLStreamException {
 
         String sourceValue = "";
         String targetValue = "";
@@ -230,15 +298,11 @@ public class LocalizationService {
             }
         }
 
-        ITextUnit tu = new TextUnit(resourceName);
-        tu.setName(resourceName);
-        tu.setSourceContent(new TextFragment(sourceValue));
-        tu.setTargetContent(targetLocale, new TextFragment(targetValue));
-        writer.writeTextUnit(tu);
+        writer.writeTransUnit(resourceName, sourceValue, targetValue);
     }
 
     /**
-     * Parses the provided XLIFF file and updates the existing message templates for all the 
+     * Parses the provided XLIFF file and updates the existing message templates for all the
      * matching configurations.
      * Those not matching are ignored, sine this method is not intended to create new message
      * templates, but rather add language data to existing ones.
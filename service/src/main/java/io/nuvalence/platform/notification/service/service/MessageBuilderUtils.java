@@ -4,6 +4,7 @@ import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.TagType;
 import com.github.jknack.handlebars.Template;
 import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplate;
+import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplateIndex;
 import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplateLanguage;
 import io.nuvalence.platform.notification.service.exception.TemplateCompilationException;
 import lombok.extern.slf4j.Slf4j;
@@ -24,38 +25,27 @@ public class MessageBuilderUtils {
     }
 
     /**
-     * Get the localized template for a given language.If there is not a direct match,
-     * the non-country-specific language is obtained, following BCP 47 standard for language tags.
+     * Get the localized template for a given language. If there is not a direct match, the tag is
+     * truncated down to its primary language, following BCP 47 lookup for language tags, and then
+     * falls back to the default locale. Templates handed out by the template cache carry a prebuilt
+     * {@link LocalizedStringTemplateIndex}; for any other template one is built on the spot.
      *
      * @param localizedStringTemplate localized string template
      * @param language                language
+     * @param defaultLocale           language tag resolved when nothing matches the language
      * @return localized template
      */
     public static Optional<LocalizedStringTemplateLanguage> getLocalizedTemplate(
-            LocalizedStringTemplate localizedStringTemplate, String language) {
-
-        String languagePart = language.contains("-") ? language.split("-")[0] : language;
-
-        Optional<LocalizedStringTemplateLanguage> result =
-                localizedStringTemplate.getLocalizedTemplateStrings().stream()
-                        .filter(
-                                localizedTemplateString ->
-                                        localizedTemplateString.getLanguage().equals(language))
-                        .findFirst();
-
-        if (result.isEmpty()) {
-            result =
-                    localizedStringTemplate.getLocalizedTemplateStrings().stream()
-                            .filter(
-                                    localizedTemplateString ->
-                                            localizedTemplateString
-                                                    .getLanguage()
-                                                    .split("-")[0]
-                                                    .equals(languagePart))
-                            .findFirst();
+            LocalizedStringTemplate localizedStringTemplate,
+            String language,
+            String defaultLocale) {
+        LocalizedStringTemplateIndex index = localizedStringTemplate.getLanguageIndex();
+        if (index == null) {
+            index =
+                    LocalizedStringTemplateIndex.of(
+                            localizedStringTemplate.getLocalizedTemplateStrings(), defaultLocale);
         }
-
-        return result;
+        return index.resolve(language);
     }
 
     /**
@@ -68,15 +58,41 @@ public class MessageBuilderUtils {
      */
     public static String replaceParameterInTemplate(
             String template, Map<String, String> parameters, Handlebars handlebars) {
+        return applyTemplate(compileTemplate(template, handlebars), parameters);
+    }
+
+    /**
+     * Compile a template.
+     *
+     * @param template   template
+     * @param handlebars handlebars
+     * @return compiled template
+     */
+    public static Template compileTemplate(String template, Handlebars handlebars) {
         try {
-            Template handleBarTemplate = handlebars.compileInline(template);
-            return handleBarTemplate.apply(parameters);
+            return handlebars.compileInline(template);
         } catch (Exception e) {
             log.error("Error compiling template: {}", template, e);
             throw new TemplateCompilationException(template, e);
         }
     }
 
+    /**
+     * Replace parameters in an already compiled template.
+     *
+     * @param template   compiled template
+     * @param parameters parameters
+     * @return template with parameters replaced
+     */
+    public static String applyTemplate(Template template, Map<String, String> parameters) {
+        try {
+            return template.apply(parameters);
+        } catch (Exception e) {
+            log.error("Error applying template: {}", template.text(), e);
+            throw new TemplateCompilationException(template.text(), e);
+        }
+    }
+
     /**
      * Get the variables in a template.
      *
@@ -1,6 +1,8 @@
 package io.nuvalence.platform.notification.service.service;
 
 import com.sendgrid.SendGrid;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkheads;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,20 +17,25 @@ public class MessageProviderConfiguration {
     /**
      * Create a message provider for email.
      * @param sendGrid api.
+     * @param bulkheads downstream bulkheads.
+     * @param meterRegistry registry the call latency is published to.
      * @return SendGridEmailProvider object.
      */
     @Bean
-    public EmailProvider emailMessageProvider(SendGrid sendGrid) {
-        return new SendGridEmailProvider(sendGrid);
+    public EmailProvider emailMessageProvider(
+            SendGrid sendGrid, Bulkheads bulkheads, MeterRegistry meterRegistry) {
+        return new SendGridEmailProvider(sendGrid, bulkheads.getSendGrid(), meterRegistry);
     }
 
     /**
      * Create a message provider for SMS.
      *
+     * @param bulkheads     downstream bulkheads
+     * @param meterRegistry registry the call latency is published to
      * @return SMS message provider
      */
     @Bean
-    public SmsProvider smsMessageProvider() {
-        return new TwilioSmsProvider();
+    public SmsProvider smsMessageProvider(Bulkheads bulkheads, MeterRegistry meterRegistry) {
+        return new TwilioSmsProvider(bulkheads.getTwilio(), meterRegistry);
     }
 }
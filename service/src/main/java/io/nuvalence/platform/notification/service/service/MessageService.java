@@ -1,20 +1,32 @@
 package io.nuvalence.platform.notification.service.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.nuvalence.platform.notification.service.domain.Message;
 import io.nuvalence.platform.notification.service.domain.MessageTemplate;
 import io.nuvalence.platform.notification.service.exception.BadDataException;
 import io.nuvalence.platform.notification.service.exception.NotFoundException;
+import io.nuvalence.platform.notification.service.model.MessageSaveResult;
 import io.nuvalence.platform.notification.service.repository.MessageRepository;
+import io.nuvalence.platform.notification.service.service.outbox.MessageOutbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.transaction.Transactional;
 
 /**
  * Service for managing {@link Message} entities.
@@ -25,9 +37,13 @@ import java.util.UUID;
 public class MessageService {
 
     private static final String QUEUED_STATUS = "QUEUED";
-    private final PubSubService pubSubService;
+    private final MessageOutbox messageOutbox;
     private final TemplateService templateService;
     private final MessageRepository messageRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${messages.bulk.maxSize:10000}")
+    private int maxBulkSize;
 
     /**
      * Get a message by id.
@@ -40,18 +56,104 @@ public class MessageService {
     }
 
     /**
-     * Save a message.
+     * Save a message, and queue it for sending in the same transaction.
      *
      * @param message the message
      * @return the saved message
      */
+    @Transactional
     public Message save(Message message) {
         // verify template exists
         MessageTemplate messageTemplate =
                 templateService
                         .getTemplate(message.getMessageTemplateKey())
                         .orElseThrow(() -> new NotFoundException("Template not found"));
-        // verify all parameters in message are in template, ignore those which are not
+        timeValidation(() -> validateParameters(message, messageTemplate));
+        // queue message for sending
+        queue(message, OffsetDateTime.now());
+        Message savedMessaged = insertTimer("single").record(() -> messageRepository.save(message));
+
+        messageOutbox.enqueue(savedMessaged);
+
+        return savedMessaged;
+    }
+
+    /**
+     * Save many messages, and queue them for sending in the same transaction. Each template is
+     * fetched once, and messages that fail validation are rejected individually without
+     * affecting the others.
+     *
+     * @param messages the messages
+     * @return one result per message, in the same order
+     * @throws BadDataException if there are more messages than allowed in one request
+     */
+    @Transactional
+    public List<MessageSaveResult> saveAll(List<Message> messages) {
+        if (messages.size() > maxBulkSize) {
+            throw new BadDataException(
+                    String.format("At most %d messages can be sent at once", maxBulkSize));
+        }
+
+        Map<String, Optional<MessageTemplate>> templates = new HashMap<>();
+        List<MessageSaveResult> results = new ArrayList<>(messages.size());
+        List<Message> accepted = new ArrayList<>(messages.size());
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            Optional<MessageTemplate> messageTemplate =
+                    templates.computeIfAbsent(
+                            message.getMessageTemplateKey(), templateService::getTemplate);
+            try {
+                timeValidation(
+                        () ->
+                                validateParameters(
+                                        message,
+                                        messageTemplate.orElseThrow(
+                                                () ->
+                                                        new NotFoundException(
+                                                                "Template not found"))));
+            } catch (NotFoundException | BadDataException e) {
+                results.add(MessageSaveResult.rejected(i, e.getMessage()));
+                continue;
+            }
+            queue(message, now);
+            accepted.add(message);
+            results.add(MessageSaveResult.accepted(i, message));
+        }
+
+        insertTimer("bulk").record(() -> messageRepository.saveAll(accepted));
+        messageOutbox.enqueueAll(accepted);
+
+        return results;
+    }
+
+    private void timeValidation(Runnable validation) {
+        long start = System.nanoTime();
+        String outcome = "invalid";
+        try {
+            validation.run();
+            outcome = "valid";
+        } finally {
+            Timer.builder("notification.message.validation")
+                    .description("Validation of the parameters of a requested message")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer insertTimer(String mode) {
+        return Timer.builder("notification.message.insert")
+                .description(
+                        "Persisting of requested messages, single or bulk; the inserts run when"
+                                + " the transaction is flushed on commit")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    // verify all parameters in message are in template, ignore those which are not; package-private
+    // for the benchmarks
+    void validateParameters(Message message, MessageTemplate messageTemplate) {
         messageTemplate
                 .getParameters()
                 .forEach(
@@ -75,20 +177,11 @@ public class MessageService {
                                 }
                             }
                         });
-        // queue message for sending
-        OffsetDateTime now = OffsetDateTime.now();
+    }
 
+    private void queue(Message message, OffsetDateTime now) {
         message.setStatus(QUEUED_STATUS);
         message.setRequestedTimestamp(now);
-        Message savedMessaged = messageRepository.save(message);
-
-        pubSubService.publish(savedMessaged);
-
-        return savedMessaged;
-    }
-
-    public void updateMessageStatus(UUID id, String status) {
-        messageRepository.updateMessageStatus(id, status);
     }
 
     private boolean isCorrectType(String parameterValue, String parameterType) {
@@ -3,20 +3,36 @@ package io.nuvalence.platform.notification.service.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.cloud.spring.pubsub.support.BasicAcknowledgeablePubsubMessage;
 import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
+import com.google.protobuf.Timestamp;
+import com.google.pubsub.v1.PubsubMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.nuvalence.platform.notification.service.domain.Message;
 import io.nuvalence.platform.notification.service.exception.MessageParsingException;
 import io.nuvalence.platform.notification.service.exception.UnprocessableNotificationException;
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
+import io.nuvalence.platform.notification.service.service.status.MessageStatusUpdater;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.MessageHandler;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-
-import javax.transaction.Transactional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service to handle messages from the PubSub subscription, for notification processing.
+ *
+ * <p>Handling a message deliberately runs outside of any transaction: the user, template and
+ * layout lookups each use their own short read, the SendGrid/Twilio call holds no database
+ * connection, and the resulting status is written behind by the {@link MessageStatusUpdater}.</p>
+ *
+ * <p>A message is acknowledged as soon as its provider accepted it, before its status change is
+ * recorded: failing to record the status neither redelivers a message that was sent nor counts as
+ * a failed attempt. Status changes the database cannot take yet are kept in memory, then in a
+ * fallback file. If the instance dies without a graceful shutdown, the changes held in memory are
+ * lost, one flush interval's worth normally and up to the queue capacity while the database is
+ * unavailable; those messages were delivered but stay {@code QUEUED}.</p>
  */
 @Slf4j
 @Service
@@ -26,43 +42,90 @@ public class NotificationProcessingSubscriber implements MessageHandler {
 
     private static final String UNPROCESSABLE_STATUS = "UNPROCESSABLE";
     private final ObjectMapper mapper;
-    private final MessageService messageService;
+    private final MessageStatusUpdater messageStatusUpdater;
     private final SendMessageService sendMessageService;
+    private final Timer dequeueLag;
+    private final Timer sent;
+    private final Timer unprocessable;
+    private final Timer retry;
 
     /**
      * Subscriber constructor.
      *
      * @param mapper the object mapper bean
-     * @param messageService service to update message status
+     * @param messageStatusUpdater writes message status changes
      * @param sendMessageService service to process notifications.
+     * @param meterRegistry registry the dequeue lag and processing latency are published to
      */
     public NotificationProcessingSubscriber(
             ObjectMapper mapper,
-            MessageService messageService,
-            SendMessageService sendMessageService) {
+            MessageStatusUpdater messageStatusUpdater,
+            SendMessageService sendMessageService,
+            MeterRegistry meterRegistry) {
         this.mapper = mapper;
-        this.messageService = messageService;
+        this.messageStatusUpdater = messageStatusUpdater;
         this.sendMessageService = sendMessageService;
+        this.dequeueLag =
+                Timer.builder("notification.dequeue.lag")
+                        .description("Time from publishing a message to PubSub to handling it")
+                        .register(meterRegistry);
+        this.sent = processingTimer("sent", meterRegistry);
+        this.unprocessable = processingTimer("unprocessable", meterRegistry);
+        this.retry = processingTimer("retry", meterRegistry);
     }
 
     @Override
-    @Transactional
     public void handleMessage(org.springframework.messaging.Message<?> message) {
         log.trace("Received message for notification processing.");
 
+        recordDequeueLag(message);
+        final long start = System.nanoTime();
         Message messageToSend = parseSubscriptionPayload(message);
 
+        ProviderResponse response;
         try {
-            sendMessageService.sendMessage(messageToSend);
-            messageService.updateMessageStatus(messageToSend.getId(), SENT_STATUS);
-            acknowledgeMessage(message);
+            response = sendMessageService.sendMessage(messageToSend);
         } catch (UnprocessableNotificationException e) {
             acknowledgeMessage(message);
-            messageService.updateMessageStatus(messageToSend.getId(), UNPROCESSABLE_STATUS);
+            messageStatusUpdater.update(messageToSend.getId(), UNPROCESSABLE_STATUS);
+            unprocessable.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return;
         } catch (Exception e) {
             log.error("An error occurred processing request", e);
             acknowledgeMessage(message, false);
+            messageStatusUpdater.recordFailedAttempt(messageToSend.getId());
+            retry.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return;
         }
+
+        // sent: acknowledged whatever becomes of the status change
+        acknowledgeMessage(message);
+        messageStatusUpdater.update(messageToSend.getId(), SENT_STATUS, response);
+        sent.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer processingTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("notification.processing")
+                .description("Handling of a message from the subscription, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void recordDequeueLag(org.springframework.messaging.Message<?> message) {
+        BasicAcknowledgeablePubsubMessage originalMessage = originalMessage(message);
+        if (originalMessage == null) {
+            return;
+        }
+        PubsubMessage pubsubMessage = originalMessage.getPubsubMessage();
+        if (pubsubMessage == null || !pubsubMessage.hasPublishTime()) {
+            return;
+        }
+        Timestamp publishTime = pubsubMessage.getPublishTime();
+        long publishedMillis =
+                TimeUnit.SECONDS.toMillis(publishTime.getSeconds())
+                        + TimeUnit.NANOSECONDS.toMillis(publishTime.getNanos());
+        dequeueLag.record(
+                Math.max(0, System.currentTimeMillis() - publishedMillis), TimeUnit.MILLISECONDS);
     }
 
     private void acknowledgeMessage(org.springframework.messaging.Message<?> message) {
@@ -71,11 +134,7 @@ public class NotificationProcessingSubscriber implements MessageHandler {
 
     private void acknowledgeMessage(
             org.springframework.messaging.Message<?> message, boolean acknowledge) {
-        BasicAcknowledgeablePubsubMessage originalMessage =
-                message.getHeaders()
-                        .get(
-                                GcpPubSubHeaders.ORIGINAL_MESSAGE,
-                                BasicAcknowledgeablePubsubMessage.class);
+        BasicAcknowledgeablePubsubMessage originalMessage = originalMessage(message);
         if (originalMessage != null) {
             if (acknowledge) {
                 log.debug("Acknowledging pubsub message");
@@ -87,7 +146,14 @@ public class NotificationProcessingSubscriber implements MessageHandler {
         }
     }
 
-    private Message parseSubscriptionPayload(org.springframework.messaging.Message<?> message) {
+    private static BasicAcknowledgeablePubsubMessage originalMessage(
+            org.springframework.messaging.Message<?> message) {
+        return message.getHeaders()
+                .get(GcpPubSubHeaders.ORIGINAL_MESSAGE, BasicAcknowledgeablePubsubMessage.class);
+    }
+
+    // package-private for the benchmarks
+    Message parseSubscriptionPayload(org.springframework.messaging.Message<?> message) {
         try {
             var payload = (byte[]) message.getPayload();
             String requestWrapperString = new String(payload, StandardCharsets.UTF_8);
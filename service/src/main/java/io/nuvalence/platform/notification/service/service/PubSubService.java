@@ -1,17 +1,13 @@
 package io.nuvalence.platform.notification.service.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.nuvalence.platform.notification.service.config.PubSubOutboundConfig;
 import io.nuvalence.platform.notification.service.domain.Message;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.MessageHeaders;
-import org.springframework.messaging.MessagingException;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
-
-import java.io.IOException;
-import java.util.Map;
+import org.springframework.util.concurrent.ListenableFuture;
 
 /**
  * Handle PubSub writes & callbacks.
@@ -20,28 +16,27 @@ import java.util.Map;
 @Slf4j
 @Service
 public class PubSubService {
-    private final PubSubOutboundConfig.PubSubOutboundGateway messagingGateway;
+    private final PubSubOutboundConfig.MessagePublisher messagePublisher;
     private final ObjectMapper objectMapper;
 
     /**
-     * Serialize and write entity to PubSub.
+     * Serialize entity to the payload written to PubSub.
      *
      * @param entity Message entity to write to PubSub
-     * @return original entity
+     * @return payload
+     * @throws JsonProcessingException if the entity cannot be serialized
      */
-    public Message publish(Message entity) {
-        try {
-            String str = objectMapper.writeValueAsString(entity);
-            MessageHeaders messageHeaders =
-                    new MessageHeaders(Map.of("my-header", "my-header-value"));
-
-            org.springframework.messaging.Message<String> msg =
-                    MessageBuilder.createMessage(str, messageHeaders);
-            messagingGateway.publish(msg);
-        } catch (IOException | MessagingException ex) {
-            log.warn("PubSub message could not be written", ex);
-        }
+    public String serialize(Message entity) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(entity);
+    }
 
-        return entity;
+    /**
+     * Write a serialized entity to PubSub.
+     *
+     * @param payload serialized Message entity
+     * @return PubSub message id, once the message is published
+     */
+    public ListenableFuture<String> publish(String payload) {
+        return messagePublisher.publish(payload);
     }
 }
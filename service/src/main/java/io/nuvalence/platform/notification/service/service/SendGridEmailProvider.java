@@ -7,13 +7,21 @@ import com.sendgrid.SendGrid;
 import com.sendgrid.helpers.mail.Mail;
 import com.sendgrid.helpers.mail.objects.Content;
 import com.sendgrid.helpers.mail.objects.Email;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.nuvalence.platform.notification.service.exception.UnprocessableNotificationException;
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkhead;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Concrete implementation of email provider.
@@ -22,6 +30,8 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class SendGridEmailProvider implements EmailProvider {
 
+    private static final String MESSAGE_ID_HEADER = "X-Message-Id";
+
     @Value("${sendgrid.contentType}")
     String contentType;
 
@@ -33,14 +43,19 @@ public class SendGridEmailProvider implements EmailProvider {
 
     private final SendGrid sg;
 
+    private final Bulkhead bulkhead;
+
+    private final MeterRegistry meterRegistry;
+
     /**
      * Sends an email via SendGrid.
      * @param to      recipient of the email.
      * @param subject subject for the email.
      * @param body    body for the email.
+     * @return SendGrid's response.
      * @throws IOException possibly thrown by api.
      */
-    public void sendEmail(String to, String subject, String body) throws IOException {
+    public ProviderResponse sendEmail(String to, String subject, String body) throws IOException {
         Email sender = new Email(from);
         Email receiver = new Email(to);
 
@@ -54,10 +69,19 @@ public class SendGridEmailProvider implements EmailProvider {
         request.setEndpoint(sendEndpoint);
         request.setBody(mail.build());
 
+        final long start = System.nanoTime();
+        String outcome = "retry";
         try {
-            Response response = sg.api(request);
+            Response response = bulkhead.call(() -> sg.api(request));
+            Duration responseTime = Duration.ofNanos(System.nanoTime() - start);
+            outcome = "success";
 
             log.trace("Email sent to {} with status code {}", to, response.getStatusCode());
+            Map<String, String> headers = response.getHeaders();
+            return new ProviderResponse(
+                    headers == null ? null : headers.get(MESSAGE_ID_HEADER),
+                    OffsetDateTime.now(),
+                    responseTime);
         } catch (IOException networkError) {
             String statusCodeString =
                     StringUtils.substringBetween(networkError.getMessage(), "status Code ", "Body");
@@ -77,6 +101,7 @@ public class SendGridEmailProvider implements EmailProvider {
                                         + " not send email to %s",
                                 statusCode, to);
                 log.error(sendGridBadRequest);
+                outcome = "unprocessable";
                 throw new UnprocessableNotificationException(sendGridBadRequest);
             }
 
@@ -93,6 +118,13 @@ public class SendGridEmailProvider implements EmailProvider {
                     to,
                     e.getMessage());
             throw e;
+        } finally {
+            Timer.builder("notification.provider.send")
+                    .description("Call to the email or SMS provider")
+                    .tag("provider", "sendgrid")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 }
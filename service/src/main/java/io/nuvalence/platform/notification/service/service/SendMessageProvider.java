@@ -2,6 +2,7 @@ package io.nuvalence.platform.notification.service.service;
 
 import io.nuvalence.platform.notification.service.domain.Message;
 import io.nuvalence.platform.notification.service.domain.MessageTemplate;
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
 import io.nuvalence.platform.notification.usermanagent.client.generated.models.UserDTO;
 
 import java.io.IOException;
@@ -17,9 +18,11 @@ public interface SendMessageProvider {
      * @param user     user
      * @param message  message
      * @param template template
+     * @return the provider's response
      * @throws IOException possibly thrown by apis.
      */
-    void sendMessage(UserDTO user, Message message, MessageTemplate template) throws IOException;
+    ProviderResponse sendMessage(UserDTO user, Message message, MessageTemplate template)
+            throws IOException;
 
     /**
      * Get the supported method.
@@ -1,8 +1,11 @@
 package io.nuvalence.platform.notification.service.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.nuvalence.platform.notification.service.domain.Message;
 import io.nuvalence.platform.notification.service.domain.MessageTemplate;
 import io.nuvalence.platform.notification.service.exception.UnprocessableNotificationException;
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
 import io.nuvalence.platform.notification.service.service.usermanagementapi.UserManagementClientService;
 import io.nuvalence.platform.notification.usermanagent.client.ApiException;
 import io.nuvalence.platform.notification.usermanagent.client.generated.models.UserDTO;
@@ -11,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +32,8 @@ public class SendMessageService {
 
     private final TemplateService templateService;
 
+    private final MeterRegistry meterRegistry;
+
     private Map<String, SendMessageProvider> sendMessageProviderMap = new HashMap<>();
 
     /**
@@ -36,13 +42,16 @@ public class SendMessageService {
      * @param userManagementClientService user management client service
      * @param sendMessageProviders        list of send message providers
      * @param templateService             template service
+     * @param meterRegistry               registry the delivery latency is published to
      */
     public SendMessageService(
             UserManagementClientService userManagementClientService,
             List<SendMessageProvider> sendMessageProviders,
-            TemplateService templateService) {
+            TemplateService templateService,
+            MeterRegistry meterRegistry) {
         this.userManagementClientService = userManagementClientService;
         this.templateService = templateService;
+        this.meterRegistry = meterRegistry;
         for (SendMessageProvider sendMessageProvider : sendMessageProviders) {
             sendMessageProviderMap.put(sendMessageProvider.supportedMethod(), sendMessageProvider);
         }
@@ -52,10 +61,11 @@ public class SendMessageService {
      * Send a message.
      *
      * @param message message
+     * @return the response of the provider the message was sent through
      * @throws ApiException if an error occurs while querying user management service
      * @throws IOException possibly thrown by apis.
      */
-    public void sendMessage(Message message) throws ApiException, IOException {
+    public ProviderResponse sendMessage(Message message) throws ApiException, IOException {
         UUID userId = UUID.fromString(message.getUserId());
 
         // Query user management service for user preferences
@@ -102,6 +112,26 @@ public class SendMessageService {
             throw new UnprocessableNotificationException(templateNotFound);
         }
 
-        messageProvider.sendMessage(user.get(), message, template.get());
+        ProviderResponse response =
+                messageProvider.sendMessage(user.get(), message, template.get());
+        recordDeliveryLatency(message, messageProvider.supportedMethod(), response);
+        return response;
+    }
+
+    private void recordDeliveryLatency(Message message, String channel, ProviderResponse response) {
+        if (message.getRequestedTimestamp() == null) {
+            return;
+        }
+        Timer.builder("notification.delivery.latency")
+                .description("Time from requesting a message to its provider accepting it")
+                .tag("channel", channel)
+                .tag("template", message.getMessageTemplateKey())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(10))
+                .maximumExpectedValue(Duration.ofHours(1))
+                .register(meterRegistry)
+                .record(
+                        Duration.between(
+                                message.getRequestedTimestamp(), response.getSentTimestamp()));
     }
 }
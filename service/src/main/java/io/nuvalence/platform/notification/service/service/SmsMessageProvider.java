@@ -1,17 +1,23 @@
 package io.nuvalence.platform.notification.service.service;
 
+import static io.nuvalence.platform.notification.service.service.MessageBuilderUtils.applyTemplate;
 import static io.nuvalence.platform.notification.service.service.MessageBuilderUtils.getLocalizedTemplate;
-import static io.nuvalence.platform.notification.service.service.MessageBuilderUtils.replaceParameterInTemplate;
 
-import com.github.jknack.handlebars.Handlebars;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplateLanguage;
 import io.nuvalence.platform.notification.service.domain.Message;
 import io.nuvalence.platform.notification.service.domain.MessageTemplate;
 import io.nuvalence.platform.notification.service.domain.SmsFormat;
 import io.nuvalence.platform.notification.service.exception.UnprocessableNotificationException;
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
+import io.nuvalence.platform.notification.service.service.cache.CompiledTemplateCache;
+import io.nuvalence.platform.notification.service.service.cache.CompiledTemplateKey;
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent.ResourceType;
 import io.nuvalence.platform.notification.usermanagent.client.generated.models.UserDTO;
 import io.nuvalence.platform.notification.usermanagent.client.generated.models.UserPreferenceDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -25,23 +31,46 @@ public class SmsMessageProvider implements SendMessageProvider {
 
     private static final String SUPPORTED_METHOD = "sms";
 
+    private static final String SMS_PART = "sms";
+
     private final SmsProvider smsProvider;
-    private final Handlebars handlebars;
+    private final CompiledTemplateCache compiledTemplateCache;
+    private final String defaultLocale;
+    private final Timer renderTimer;
 
-    public SmsMessageProvider(SmsProvider smsProvider) {
+    /**
+     * Constructor.
+     *
+     * @param smsProvider           SMS provider
+     * @param compiledTemplateCache compiled template cache
+     * @param defaultLocale         language tag used when a template is not in the user's language
+     * @param meterRegistry         registry the rendering latency is published to
+     */
+    public SmsMessageProvider(
+            SmsProvider smsProvider,
+            CompiledTemplateCache compiledTemplateCache,
+            @Value("${localization.default-locale}") String defaultLocale,
+            MeterRegistry meterRegistry) {
         this.smsProvider = smsProvider;
-        this.handlebars = new Handlebars();
+        this.compiledTemplateCache = compiledTemplateCache;
+        this.defaultLocale = defaultLocale;
+        this.renderTimer =
+                Timer.builder("notification.render")
+                        .description("Rendering of a message with its templates")
+                        .tag("channel", SUPPORTED_METHOD)
+                        .register(meterRegistry);
     }
 
     @Override
-    public void sendMessage(UserDTO user, Message message, MessageTemplate template) {
+    public ProviderResponse sendMessage(UserDTO user, Message message, MessageTemplate template) {
         UserPreferenceDTO userPreferences = user.getPreferences();
 
         SmsFormat smsFormat = template.getSmsFormat();
         Optional<LocalizedStringTemplateLanguage> smsTemplate =
                 getLocalizedTemplate(
                         smsFormat.getLocalizedStringTemplate(),
-                        userPreferences.getPreferredLanguage());
+                        userPreferences.getPreferredLanguage(),
+                        defaultLocale);
         if (smsTemplate.isEmpty()) {
             String templateNotFound =
                     String.format(
@@ -50,11 +79,23 @@ public class SmsMessageProvider implements SendMessageProvider {
             log.error(templateNotFound);
             throw new UnprocessableNotificationException(templateNotFound);
         }
+        CompiledTemplateKey compiledTemplateKey =
+                new CompiledTemplateKey(
+                        ResourceType.MESSAGE_TEMPLATE,
+                        template.getKey(),
+                        template.getVersion(),
+                        SMS_PART,
+                        smsTemplate.get().getLanguage());
         String smsToSend =
-                replaceParameterInTemplate(
-                        smsTemplate.get().getTemplate(), message.getParameters(), handlebars);
+                renderTimer.record(
+                        () ->
+                                applyTemplate(
+                                        compiledTemplateCache.get(
+                                                compiledTemplateKey,
+                                                smsTemplate.get().getTemplate()),
+                                        message.getParameters()));
 
-        smsProvider.sendSms(user.getPhoneNumber(), smsToSend);
+        return smsProvider.sendSms(user.getPhoneNumber(), smsToSend);
     }
 
     @Override
@@ -1,5 +1,7 @@
 package io.nuvalence.platform.notification.service.service;
 
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
+
 /**
  * Interface for SMS providers.
  */
@@ -9,6 +11,7 @@ public interface SmsProvider {
      *
      * @param to      recipient
      * @param message message
+     * @return the provider's response
      */
-    void sendSms(String to, String message);
+    ProviderResponse sendSms(String to, String message);
 }
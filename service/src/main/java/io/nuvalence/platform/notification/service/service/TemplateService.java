@@ -1,11 +1,18 @@
 package io.nuvalence.platform.notification.service.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.nuvalence.auth.token.UserToken;
 import io.nuvalence.platform.notification.service.domain.MessageTemplate;
 import io.nuvalence.platform.notification.service.model.SearchTemplateFilter;
 import io.nuvalence.platform.notification.service.repository.MessageTemplateRepository;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkheads;
+import io.nuvalence.platform.notification.service.service.cache.MessageTemplateCache;
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent;
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent.ResourceType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -13,6 +20,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import javax.transaction.Transactional;
 
@@ -26,6 +34,14 @@ public class TemplateService {
 
     private final MessageTemplateRepository templateRepository;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final MessageTemplateCache messageTemplateCache;
+
+    private final Bulkheads bulkheads;
+
+    private final MeterRegistry meterRegistry;
+
     /**
      * Create or update a template.
      *
@@ -50,17 +66,36 @@ public class TemplateService {
         }
 
         MessageTemplate resultingMessageTemplate = templateRepository.save(templateToSave);
+        eventPublisher.publishEvent(
+                new TemplateCacheInvalidationEvent(ResourceType.MESSAGE_TEMPLATE, key));
         return resultingMessageTemplate;
     }
 
     /**
-     * Get a template by key.
+     * Get a template by key. The result is a cached, read-only snapshot and must not be modified.
      *
      * @param key the template key
      * @return the first template found by key (latest version)
      */
     public Optional<MessageTemplate> getTemplate(final String key) {
-        return templateRepository.findFirstByKeyOrderByVersionDesc(key);
+        long start = System.nanoTime();
+        Optional<MessageTemplate> template =
+                messageTemplateCache.get(
+                        key,
+                        k ->
+                                bulkheads
+                                        .getDatabase()
+                                        .call(
+                                                () ->
+                                                        templateRepository
+                                                                .findFirstByKeyOrderByVersionDesc(
+                                                                        k)));
+        Timer.builder("notification.template.resolve")
+                .description("Resolution of a message template by key, cached or not")
+                .tag("outcome", template.isPresent() ? "found" : "not_found")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return template;
     }
 
     /**
@@ -5,10 +5,19 @@ import com.twilio.exception.ApiConnectionException;
 import com.twilio.exception.ApiException;
 import com.twilio.rest.api.v2010.account.Message;
 import com.twilio.type.PhoneNumber;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkhead;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
 import javax.annotation.PostConstruct;
 
 /**
@@ -16,6 +25,7 @@ import javax.annotation.PostConstruct;
  */
 @Slf4j
 @Setter
+@RequiredArgsConstructor
 public class TwilioSmsProvider implements SmsProvider {
 
     @Value("${twilio.phoneNumber}")
@@ -27,6 +37,10 @@ public class TwilioSmsProvider implements SmsProvider {
     @Value("${twilio.authToken}")
     private String twilioAuthToken;
 
+    private final Bulkhead bulkhead;
+
+    private final MeterRegistry meterRegistry;
+
     @PostConstruct
     public void initialize() {
         Twilio.init(twilioAccountSid, twilioAuthToken);
@@ -36,11 +50,23 @@ public class TwilioSmsProvider implements SmsProvider {
      * Sends a sms via Twilio.
      * @param to      recipient.
      * @param message message to be sent.
+     * @return Twilio's response.
      */
-    public void sendSms(String to, String message) {
+    public ProviderResponse sendSms(String to, String message) {
+        final long start = System.nanoTime();
+        String outcome = "retry";
         try {
-            Message.creator(new PhoneNumber(to), new PhoneNumber(twilioPhoneNumber), message)
-                    .create();
+            Message created =
+                    bulkhead.call(
+                            () ->
+                                    Message.creator(
+                                                    new PhoneNumber(to),
+                                                    new PhoneNumber(twilioPhoneNumber),
+                                                    message)
+                                            .create());
+            Duration responseTime = Duration.ofNanos(System.nanoTime() - start);
+            outcome = "success";
+            return new ProviderResponse(created.getSid(), OffsetDateTime.now(), responseTime);
         } catch (ApiConnectionException connectionException) {
             log.warn(
                     "Network issue encountered while sending sms to {}. This operation will be"
@@ -62,6 +88,13 @@ public class TwilioSmsProvider implements SmsProvider {
                     to,
                     e.getMessage());
             throw e;
+        } finally {
+            Timer.builder("notification.provider.send")
+                    .description("Call to the email or SMS provider")
+                    .tag("provider", "twilio")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 }
@@ -0,0 +1,123 @@
+package io.nuvalence.platform.notification.service.service.bulkhead;
+
+import io.nuvalence.platform.notification.service.exception.BulkheadFullException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of concurrent calls to one downstream system, independently of the number of
+ * threads making them.
+ */
+public class Bulkhead {
+
+    private final String name;
+
+    private final int maxConcurrentCalls;
+
+    private final Duration maxWait;
+
+    private final Semaphore permits;
+
+    /**
+     * Constructor.
+     *
+     * @param name               name of the downstream system
+     * @param maxConcurrentCalls maximum number of calls in progress at any time
+     * @param maxWait            maximum time a call waits for a permit before failing
+     */
+    public Bulkhead(String name, int maxConcurrentCalls, Duration maxWait) {
+        if (maxConcurrentCalls <= 0) {
+            throw new IllegalArgumentException(
+                    "Bulkhead " + name + " must allow at least one concurrent call");
+        }
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    /**
+     * Runs the call once a permit is available.
+     *
+     * @param call call to the downstream system
+     * @param <T>  result type
+     * @param <E>  exception thrown by the call
+     * @return result of the call
+     * @throws E                     if the call fails
+     * @throws BulkheadFullException if no permit became available in time
+     */
+    public <T, E extends Exception> T call(Call<T, E> call) throws E {
+        acquire();
+        try {
+            return call.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Runs the call once a permit is available.
+     *
+     * @param call call to the downstream system
+     * @param <E>  exception thrown by the call
+     * @throws E                     if the call fails
+     * @throws BulkheadFullException if no permit became available in time
+     */
+    public <E extends Exception> void run(Run<E> call) throws E {
+        call(
+                () -> {
+                    call.run();
+                    return null;
+                });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new BulkheadFullException(
+                        String.format(
+                                "No %s permit available after %s, %d calls in progress",
+                                name, maxWait, maxConcurrentCalls));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException(
+                    String.format("Interrupted while waiting for a %s permit", name));
+        }
+    }
+
+    /**
+     * Call returning a result.
+     *
+     * @param <T> result type
+     * @param <E> exception thrown by the call
+     */
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * Call without a result.
+     *
+     * @param <E> exception thrown by the call
+     */
+    @FunctionalInterface
+    public interface Run<E extends Exception> {
+        void run() throws E;
+    }
+}
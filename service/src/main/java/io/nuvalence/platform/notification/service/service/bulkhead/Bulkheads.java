@@ -0,0 +1,71 @@
+package io.nuvalence.platform.notification.service.service.bulkhead;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Bulkheads of the downstream systems used while sending a notification. With notifications
+ * processed on virtual threads, these, rather than the number of threads, are what bound the load
+ * an instance puts on each of them.
+ */
+@Component
+public class Bulkheads {
+
+    private final Bulkhead database;
+
+    private final Bulkhead userManagement;
+
+    private final Bulkhead sendGrid;
+
+    private final Bulkhead twilio;
+
+    /**
+     * Constructor.
+     *
+     * @param database       maximum concurrent database queries of the send pipeline
+     * @param userManagement maximum concurrent user management requests
+     * @param sendGrid       maximum concurrent SendGrid requests
+     * @param twilio         maximum concurrent Twilio requests
+     * @param maxWait        maximum time a call waits for a permit
+     * @param meterRegistry  registry the available permits are published to
+     */
+    public Bulkheads(
+            @Value("${bulkhead.database.maxConcurrentCalls:10}") int database,
+            @Value("${bulkhead.userManagement.maxConcurrentCalls:32}") int userManagement,
+            @Value("${bulkhead.sendGrid.maxConcurrentCalls:32}") int sendGrid,
+            @Value("${bulkhead.twilio.maxConcurrentCalls:32}") int twilio,
+            @Value("${bulkhead.maxWait:PT30S}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        this.database = new Bulkhead("database", database, maxWait);
+        this.userManagement = new Bulkhead("userManagement", userManagement, maxWait);
+        this.sendGrid = new Bulkhead("sendGrid", sendGrid, maxWait);
+        this.twilio = new Bulkhead("twilio", twilio, maxWait);
+        for (Bulkhead bulkhead :
+                List.of(this.database, this.userManagement, this.sendGrid, this.twilio)) {
+            Gauge.builder("bulkhead.available.permits", bulkhead, Bulkhead::getAvailablePermits)
+                    .tag("name", bulkhead.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    public Bulkhead getDatabase() {
+        return database;
+    }
+
+    public Bulkhead getUserManagement() {
+        return userManagement;
+    }
+
+    public Bulkhead getSendGrid() {
+        return sendGrid;
+    }
+
+    public Bulkhead getTwilio() {
+        return twilio;
+    }
+}
@@ -0,0 +1,75 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.nuvalence.platform.notification.service.config.PubSubOutboundConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Forwards committed template and email layout changes made by this instance to the cache
+ * invalidation topic, so that every other instance drops the same keys.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBroadcaster {
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final PubSubOutboundConfig.CacheInvalidationOutboundGateway gateway;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor.
+     *
+     * @param gateway      gateway to the cache invalidation topic
+     * @param objectMapper object mapper bean
+     */
+    public CacheInvalidationBroadcaster(
+            PubSubOutboundConfig.CacheInvalidationOutboundGateway gateway,
+            ObjectMapper objectMapper) {
+        this.gateway = gateway;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Identifier of this instance, used to recognize and skip its own invalidation messages.
+     *
+     * @return instance identifier
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Publishes a local change to the other instances. A failure is only logged: the other
+     * instances still pick the change up once their entries expire.
+     *
+     * @param event invalidation event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTemplateCacheInvalidation(TemplateCacheInvalidationEvent event) {
+        if (event.isRemote()) {
+            return;
+        }
+        try {
+            String payload =
+                    objectMapper.writeValueAsString(
+                            new CacheInvalidationMessage(
+                                    instanceId, event.getResourceType(), event.getKey()));
+            gateway.publish(MessageBuilder.withPayload(payload).build());
+        } catch (JsonProcessingException | MessagingException ex) {
+            log.warn(
+                    "Cache invalidation for {} {} could not be published",
+                    event.getResourceType(),
+                    event.getKey(),
+                    ex);
+        }
+    }
+}
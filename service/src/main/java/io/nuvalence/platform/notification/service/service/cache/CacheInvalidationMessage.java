@@ -0,0 +1,24 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent.ResourceType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload exchanged between instances on the cache invalidation topic.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CacheInvalidationMessage {
+
+    /**
+     * Identifier of the instance that made the change.
+     */
+    private String origin;
+
+    private ResourceType resourceType;
+
+    private String key;
+}
@@ -0,0 +1,80 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.spring.pubsub.support.BasicAcknowledgeablePubsubMessage;
+import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Handles messages from this instance's cache invalidation subscription, re-publishing changes made
+ * by other instances as local {@link TemplateCacheInvalidationEvent}s.
+ */
+@Slf4j
+@Service
+public class CacheInvalidationSubscriber implements MessageHandler {
+
+    private final ObjectMapper mapper;
+
+    private final CacheInvalidationBroadcaster broadcaster;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Subscriber constructor.
+     *
+     * @param mapper         the object mapper bean
+     * @param broadcaster    broadcaster holding this instance's identifier
+     * @param eventPublisher publisher for local invalidation events
+     */
+    public CacheInvalidationSubscriber(
+            ObjectMapper mapper,
+            CacheInvalidationBroadcaster broadcaster,
+            ApplicationEventPublisher eventPublisher) {
+        this.mapper = mapper;
+        this.broadcaster = broadcaster;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void handleMessage(Message<?> message) {
+        try {
+            CacheInvalidationMessage invalidation =
+                    mapper.readValue(payloadOf(message), CacheInvalidationMessage.class);
+            if (!broadcaster.getInstanceId().equals(invalidation.getOrigin())) {
+                log.debug(
+                        "Received cache invalidation for {} {}",
+                        invalidation.getResourceType(),
+                        invalidation.getKey());
+                eventPublisher.publishEvent(
+                        new TemplateCacheInvalidationEvent(
+                                invalidation.getResourceType(), invalidation.getKey(), true));
+            }
+        } catch (IOException ex) {
+            log.error("Error parsing cache invalidation message from PubSub", ex);
+        }
+        // invalidations are best effort, redelivering a malformed message would not help
+        BasicAcknowledgeablePubsubMessage originalMessage =
+                message.getHeaders()
+                        .get(
+                                GcpPubSubHeaders.ORIGINAL_MESSAGE,
+                                BasicAcknowledgeablePubsubMessage.class);
+        if (originalMessage != null) {
+            originalMessage.ack();
+        }
+    }
+
+    private static String payloadOf(Message<?> message) {
+        Object payload = message.getPayload();
+        if (payload instanceof byte[]) {
+            return new String((byte[]) payload, StandardCharsets.UTF_8);
+        }
+        return payload.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.jknack.handlebars.EscapingStrategy;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.nuvalence.platform.notification.service.service.MessageBuilderUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded cache of compiled Handlebars templates, so that message sources are parsed once per
+ * template version and language instead of once per message.
+ */
+@Slf4j
+@Component
+public class CompiledTemplateCache {
+
+    private static final String CACHE_NAME = "compiledTemplates";
+
+    private final Handlebars handlebars;
+
+    private final Cache<CompiledTemplateKey, Template> cache;
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize       maximum number of compiled templates kept in memory
+     * @param meterRegistry registry the cache statistics are published to
+     */
+    public CompiledTemplateCache(
+            @Value("${cache.compiledTemplates.maxSize:1000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        this.handlebars = new Handlebars();
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get the compiled template for the given key, compiling the source on a miss.
+     *
+     * @param key      compiled template key
+     * @param template template source, used only when the key is not cached
+     * @return compiled template
+     */
+    public Template get(CompiledTemplateKey key, String template) {
+        return cache.get(key, k -> MessageBuilderUtils.compileTemplate(template, handlebars));
+    }
+
+    /**
+     * Escaping the compiled templates apply to the values they output.
+     *
+     * @return escaping strategy
+     */
+    public EscapingStrategy getEscapingStrategy() {
+        return handlebars.getEscapingStrategy();
+    }
+
+    /**
+     * Drops every compiled template derived from the template or layout that changed.
+     *
+     * @param event invalidation event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTemplateCacheInvalidation(TemplateCacheInvalidationEvent event) {
+        log.debug(
+                "Invalidating compiled templates for {} {}",
+                event.getResourceType(),
+                event.getKey());
+        cache.asMap()
+                .keySet()
+                .removeIf(key -> key.belongsTo(event.getResourceType(), event.getKey()));
+    }
+}
@@ -0,0 +1,33 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent.ResourceType;
+import lombok.Value;
+
+/**
+ * Identifies a compiled Handlebars template: the owning template or layout (type, key and
+ * version), the part of it that was compiled and the language of that part.
+ */
+@Value
+public class CompiledTemplateKey {
+
+    ResourceType resourceType;
+
+    String key;
+
+    Integer version;
+
+    String part;
+
+    String language;
+
+    /**
+     * Whether this entry was derived from the given template or layout.
+     *
+     * @param resourceType type of the changed resource
+     * @param key          key of the changed resource
+     * @return true if the entry belongs to the resource
+     */
+    public boolean belongsTo(ResourceType resourceType, String key) {
+        return this.resourceType == resourceType && this.key.equals(key);
+    }
+}
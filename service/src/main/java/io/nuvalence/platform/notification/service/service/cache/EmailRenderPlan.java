@@ -0,0 +1,194 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import com.github.jknack.handlebars.EscapingStrategy;
+import com.github.jknack.handlebars.TagType;
+import com.github.jknack.handlebars.Template;
+import io.nuvalence.platform.notification.service.service.MessageBuilderUtils;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Everything needed to render an email of a template in one language, compiled once: the subject,
+ * the content blocks, and the layout the blocks are laid out in.
+ *
+ * <p>When the layout does nothing but output its inputs, it is rendered up front with a marker in
+ * place of each input and split on the markers. Rendering an email then only renders the subject
+ * and the blocks, and splices the escaped blocks between the static parts of the layout, which is
+ * what applying the layout would produce. Layouts using anything else, such as sections, helpers or
+ * unescaped inputs, are applied to every email instead.</p>
+ */
+public final class EmailRenderPlan {
+
+    private static final char MARKER = '\u0000';
+
+    private static final TagType[] NON_VARIABLE_TAGS = {
+        TagType.STAR_VAR,
+        TagType.AMP_VAR,
+        TagType.TRIPLE_VAR,
+        TagType.SUB_EXPRESSION,
+        TagType.SECTION,
+        TagType.START_SECTION
+    };
+
+    private final Template subject;
+
+    private final String[] inputs;
+
+    private final Template[] contents;
+
+    private final Template layout;
+
+    private final EscapingStrategy escapingStrategy;
+
+    // static parts of the pre-rendered layout, with the block output after each of them but the
+    // last; both empty when the layout is applied to every email
+    private final String[] layoutParts;
+
+    private final int[] layoutBlocks;
+
+    private final int layoutLength;
+
+    /**
+     * Constructor.
+     *
+     * @param subject          compiled subject
+     * @param contents         compiled content blocks, by the layout input they fill
+     * @param layout           compiled layout
+     * @param escapingStrategy escaping the layout applies to its inputs
+     */
+    public EmailRenderPlan(
+            Template subject,
+            Map<String, Template> contents,
+            Template layout,
+            EscapingStrategy escapingStrategy) {
+        this.subject = subject;
+        this.inputs = contents.keySet().toArray(new String[0]);
+        this.contents = contents.values().toArray(new Template[0]);
+        this.layout = layout;
+        this.escapingStrategy = escapingStrategy;
+
+        List<String> parts = new ArrayList<>();
+        List<Integer> blocks = new ArrayList<>();
+        if (!splitLayout(parts, blocks)) {
+            parts.clear();
+            blocks.clear();
+        }
+        this.layoutParts = parts.toArray(new String[0]);
+        this.layoutBlocks = blocks.stream().mapToInt(Integer::intValue).toArray();
+        this.layoutLength = parts.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * Render an email.
+     *
+     * @param parameters message parameters
+     * @return the subject and body of the email
+     */
+    public RenderedEmail render(Map<String, String> parameters) {
+        String renderedSubject = MessageBuilderUtils.applyTemplate(subject, parameters);
+        String[] renderedContents = new String[contents.length];
+        for (int i = 0; i < contents.length; i++) {
+            renderedContents[i] = MessageBuilderUtils.applyTemplate(contents[i], parameters);
+        }
+        return new RenderedEmail(renderedSubject, renderBody(renderedContents));
+    }
+
+    /**
+     * Whether the layout was rendered up front rather than being applied to every email.
+     *
+     * @return true if the layout is pre-rendered
+     */
+    public boolean isLayoutPreRendered() {
+        return layoutParts.length > 0;
+    }
+
+    private String renderBody(String[] renderedContents) {
+        if (!isLayoutPreRendered()) {
+            Map<String, String> layoutInputs = new HashMap<>();
+            for (int i = 0; i < inputs.length; i++) {
+                layoutInputs.put(inputs[i], renderedContents[i]);
+            }
+            return MessageBuilderUtils.applyTemplate(layout, layoutInputs);
+        }
+
+        CharSequence[] escapedContents = new CharSequence[renderedContents.length];
+        int length = layoutLength;
+        for (int i = 0; i < renderedContents.length; i++) {
+            escapedContents[i] = escapingStrategy.escape(renderedContents[i]);
+            length += escapedContents[i].length();
+        }
+        StringBuilder body = new StringBuilder(length);
+        for (int i = 0; i < layoutBlocks.length; i++) {
+            body.append(layoutParts[i]).append(escapedContents[layoutBlocks[i]]);
+        }
+        return body.append(layoutParts[layoutBlocks.length]).toString();
+    }
+
+    // renders the layout with a marker holding the index of each block, and splits it on them;
+    // false if the layout cannot be pre-rendered
+    private boolean splitLayout(List<String> parts, List<Integer> blocks) {
+        List<String> inputNames = Arrays.asList(inputs);
+        Set<String> variables = new HashSet<>(layout.collect(TagType.VAR));
+        if (!layout.collect(NON_VARIABLE_TAGS).isEmpty() || !inputNames.containsAll(variables)) {
+            return false;
+        }
+        Map<String, String> markers = new HashMap<>();
+        for (int i = 0; i < inputs.length; i++) {
+            String marker = markerOf(i);
+            if (!marker.contentEquals(escapingStrategy.escape(marker))) {
+                return false;
+            }
+            markers.put(inputs[i], marker);
+        }
+
+        String rendered = MessageBuilderUtils.applyTemplate(layout, markers);
+        int start = 0;
+        for (int open = rendered.indexOf(MARKER);
+                open >= 0;
+                open = rendered.indexOf(MARKER, start)) {
+            int close = rendered.indexOf(MARKER, open + 1);
+            int block = close < 0 ? -1 : blockIndex(rendered.substring(open + 1, close));
+            if (block < 0) {
+                return false;
+            }
+            parts.add(rendered.substring(start, open));
+            blocks.add(block);
+            start = close + 1;
+        }
+        parts.add(rendered.substring(start));
+        // a variable missing from the output is an input named like a helper, which ran instead
+        return new HashSet<>(blocks).size() == variables.size();
+    }
+
+    // -1 unless the text between two markers is the index of a block
+    private int blockIndex(String text) {
+        try {
+            int index = Integer.parseInt(text);
+            return index < inputs.length ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String markerOf(int index) {
+        return MARKER + Integer.toString(index) + MARKER;
+    }
+
+    /**
+     * Subject and body of a rendered email.
+     */
+    @Value
+    public static class RenderedEmail {
+
+        String subject;
+
+        String body;
+    }
+}
@@ -0,0 +1,68 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Function;
+
+/**
+ * Bounded cache of email render plans, so that the variants of a template are resolved for a
+ * language and laid out in the email layout once per template and layout version, instead of once
+ * per message.
+ */
+@Slf4j
+@Component
+public class EmailRenderPlanCache {
+
+    private static final String CACHE_NAME = "emailRenderPlans";
+
+    private final Cache<EmailRenderPlanKey, EmailRenderPlan> cache;
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize       maximum number of render plans kept in memory
+     * @param meterRegistry registry the cache statistics are published to
+     */
+    public EmailRenderPlanCache(
+            @Value("${cache.emailRenderPlans.maxSize:1000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get the render plan for the given key, compiling it on a miss. Nothing is cached when the
+     * compiler throws.
+     *
+     * @param key      render plan key
+     * @param compiler compiles the plan, used only when the key is not cached
+     * @return render plan
+     */
+    public EmailRenderPlan get(
+            EmailRenderPlanKey key, Function<EmailRenderPlanKey, EmailRenderPlan> compiler) {
+        return cache.get(key, compiler);
+    }
+
+    /**
+     * Drops every render plan compiled from the template or layout that changed.
+     *
+     * @param event invalidation event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTemplateCacheInvalidation(TemplateCacheInvalidationEvent event) {
+        log.debug(
+                "Invalidating email render plans for {} {}",
+                event.getResourceType(),
+                event.getKey());
+        cache.asMap()
+                .keySet()
+                .removeIf(key -> key.belongsTo(event.getResourceType(), event.getKey()));
+    }
+}
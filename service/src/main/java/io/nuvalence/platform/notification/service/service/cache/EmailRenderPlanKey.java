@@ -0,0 +1,40 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent.ResourceType;
+import lombok.Value;
+
+/**
+ * Identifies an email render plan: the template and layout versions it was compiled from, and the
+ * language it was requested in.
+ */
+@Value
+public class EmailRenderPlanKey {
+
+    String templateKey;
+
+    Integer templateVersion;
+
+    String layoutKey;
+
+    Integer layoutVersion;
+
+    String language;
+
+    /**
+     * Whether this plan was compiled from the given template or layout.
+     *
+     * @param resourceType type of the changed resource
+     * @param key          key of the changed resource
+     * @return true if the plan depends on the resource
+     */
+    public boolean belongsTo(ResourceType resourceType, String key) {
+        switch (resourceType) {
+            case MESSAGE_TEMPLATE:
+                return templateKey.equals(key);
+            case EMAIL_LAYOUT:
+                return layoutKey.equals(key);
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.nuvalence.platform.notification.service.domain.MessageTemplate;
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent.ResourceType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of the latest version of each message template, keyed by template key.
+ *
+ * <p>Entries are read-only snapshots built by {@link MessageTemplateSnapshots}; they are shared
+ * between callers and must not be modified or handed back to a repository.</p>
+ */
+@Slf4j
+@Component
+public class MessageTemplateCache {
+
+    private static final String CACHE_NAME = "messageTemplates";
+
+    private final Cache<String, MessageTemplate> cache;
+
+    private final String defaultLocale;
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize       maximum number of templates kept in memory
+     * @param timeToLive    time after which an entry is reloaded regardless of writes
+     * @param defaultLocale language tag the localized templates fall back to
+     * @param meterRegistry registry the cache statistics are published to
+     */
+    public MessageTemplateCache(
+            @Value("${cache.messageTemplates.maxSize:500}") long maxSize,
+            @Value("${cache.messageTemplates.timeToLive:PT10M}") Duration timeToLive,
+            @Value("${localization.default-locale}") String defaultLocale,
+            MeterRegistry meterRegistry) {
+        this.defaultLocale = defaultLocale;
+        this.cache =
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(timeToLive)
+                        .recordStats()
+                        .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get the latest template for a key, loading and snapshotting it on a miss. Missing templates
+     * are not cached.
+     *
+     * @param key    template key
+     * @param loader loads the latest template from the database
+     * @return snapshot of the latest template, if one exists
+     */
+    public Optional<MessageTemplate> get(
+            String key, Function<String, Optional<MessageTemplate>> loader) {
+        return Optional.ofNullable(
+                cache.get(
+                        key,
+                        k ->
+                                loader.apply(k)
+                                        .map(
+                                                template ->
+                                                        MessageTemplateSnapshots.of(
+                                                                template, defaultLocale))
+                                        .orElse(null)));
+    }
+
+    /**
+     * Drops the cached template once a write to it has been committed.
+     *
+     * @param event invalidation event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTemplateCacheInvalidation(TemplateCacheInvalidationEvent event) {
+        if (event.getResourceType() == ResourceType.MESSAGE_TEMPLATE) {
+            log.debug("Invalidating cached template {}", event.getKey());
+            cache.invalidate(event.getKey());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import io.nuvalence.platform.notification.service.domain.EmailFormat;
+import io.nuvalence.platform.notification.service.domain.EmailFormatContent;
+import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplate;
+import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplateIndex;
+import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplateLanguage;
+import io.nuvalence.platform.notification.service.domain.MessageTemplate;
+import io.nuvalence.platform.notification.service.domain.SmsFormat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Builds detached, fully materialized copies of a {@link MessageTemplate} graph that are safe to
+ * share between threads. Every collection in the copy is unmodifiable and every back-reference
+ * points to the copy, so no lazy association is left to load once the persistence context is gone.
+ * Each localized template of the copy is indexed by language, for its variants to be resolved
+ * without scanning them on every message.
+ */
+final class MessageTemplateSnapshots {
+
+    private MessageTemplateSnapshots() {}
+
+    /**
+     * Copy a template and everything reachable from it.
+     *
+     * @param template      managed or detached template
+     * @param defaultLocale language tag the localized templates fall back to
+     * @return read-only snapshot of the template
+     */
+    static MessageTemplate of(MessageTemplate template, String defaultLocale) {
+        MessageTemplate snapshot =
+                MessageTemplate.builder()
+                        .id(template.getId())
+                        .key(template.getKey())
+                        .name(template.getName())
+                        .description(template.getDescription())
+                        .version(template.getVersion())
+                        .status(template.getStatus())
+                        .emailLayoutKey(template.getEmailLayoutKey())
+                        .parameters(
+                                template.getParameters() == null
+                                        ? null
+                                        : Collections.unmodifiableMap(
+                                                new HashMap<>(template.getParameters())))
+                        .createdBy(template.getCreatedBy())
+                        .createdTimestamp(template.getCreatedTimestamp())
+                        .lastUpdatedTimestamp(template.getLastUpdatedTimestamp())
+                        .build();
+        snapshot.setSmsFormat(copyOf(template.getSmsFormat(), snapshot, defaultLocale));
+        snapshot.setEmailFormat(copyOf(template.getEmailFormat(), snapshot, defaultLocale));
+        return snapshot;
+    }
+
+    private static SmsFormat copyOf(
+            SmsFormat smsFormat, MessageTemplate owner, String defaultLocale) {
+        if (smsFormat == null) {
+            return null;
+        }
+        return SmsFormat.builder()
+                .id(smsFormat.getId())
+                .messageTemplate(owner)
+                .localizedStringTemplate(
+                        copyOf(smsFormat.getLocalizedStringTemplate(), defaultLocale))
+                .build();
+    }
+
+    private static EmailFormat copyOf(
+            EmailFormat emailFormat, MessageTemplate owner, String defaultLocale) {
+        if (emailFormat == null) {
+            return null;
+        }
+        EmailFormat copy =
+                EmailFormat.builder()
+                        .id(emailFormat.getId())
+                        .messageTemplate(owner)
+                        .localizedSubjectStringTemplate(
+                                copyOf(
+                                        emailFormat.getLocalizedSubjectStringTemplate(),
+                                        defaultLocale))
+                        .build();
+        if (emailFormat.getEmailFormatContents() != null) {
+            copy.setEmailFormatContents(
+                    emailFormat.getEmailFormatContents().stream()
+                            .map(content -> copyOf(content, copy, defaultLocale))
+                            .collect(
+                                    Collectors.collectingAndThen(
+                                            Collectors.toList(), Collections::unmodifiableList)));
+        }
+        return copy;
+    }
+
+    private static EmailFormatContent copyOf(
+            EmailFormatContent content, EmailFormat owner, String defaultLocale) {
+        return EmailFormatContent.builder()
+                .id(content.getId())
+                .emailFormat(owner)
+                .emailLayoutInput(content.getEmailLayoutInput())
+                .localizedStringTemplate(
+                        copyOf(content.getLocalizedStringTemplate(), defaultLocale))
+                .build();
+    }
+
+    private static LocalizedStringTemplate copyOf(
+            LocalizedStringTemplate localizedTemplate, String defaultLocale) {
+        if (localizedTemplate == null) {
+            return null;
+        }
+        LocalizedStringTemplate copy =
+                LocalizedStringTemplate.builder().id(localizedTemplate.getId()).build();
+        List<LocalizedStringTemplateLanguage> languages =
+                localizedTemplate.getLocalizedTemplateStrings();
+        if (languages != null) {
+            copy.setLocalizedTemplateStrings(
+                    languages.stream()
+                            .map(
+                                    language ->
+                                            LocalizedStringTemplateLanguage.builder()
+                                                    .id(language.getId())
+                                                    .localizedStringTemplate(copy)
+                                                    .language(language.getLanguage())
+                                                    .template(language.getTemplate())
+                                                    .build())
+                            .collect(
+                                    Collectors.collectingAndThen(
+                                            Collectors.toList(), Collections::unmodifiableList)));
+        }
+        copy.setLanguageIndex(
+                LocalizedStringTemplateIndex.of(copy.getLocalizedTemplateStrings(), defaultLocale));
+        return copy;
+    }
+}
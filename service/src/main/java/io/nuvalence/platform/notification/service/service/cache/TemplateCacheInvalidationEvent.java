@@ -0,0 +1,41 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Published whenever a message template or an email layout is written, so that any cached data
+ * derived from it can be dropped.
+ */
+@Value
+@AllArgsConstructor
+public class TemplateCacheInvalidationEvent {
+
+    /**
+     * Kind of resource that changed.
+     */
+    public enum ResourceType {
+        MESSAGE_TEMPLATE,
+        EMAIL_LAYOUT
+    }
+
+    ResourceType resourceType;
+
+    String key;
+
+    /**
+     * Whether the change was made by another instance and received through the invalidation
+     * topic, in which case it must not be broadcast again.
+     */
+    boolean remote;
+
+    /**
+     * Constructor for changes made by this instance.
+     *
+     * @param resourceType type of the changed resource
+     * @param key          key of the changed resource
+     */
+    public TemplateCacheInvalidationEvent(ResourceType resourceType, String key) {
+        this(resourceType, key, false);
+    }
+}
@@ -0,0 +1,189 @@
+package io.nuvalence.platform.notification.service.service.campaign;
+
+import io.nuvalence.platform.notification.service.domain.Campaign;
+import io.nuvalence.platform.notification.service.domain.CampaignRecipient;
+import io.nuvalence.platform.notification.service.domain.Message;
+import io.nuvalence.platform.notification.service.model.MessageSaveResult;
+import io.nuvalence.platform.notification.service.repository.CampaignRecipientRepository;
+import io.nuvalence.platform.notification.service.repository.CampaignRepository;
+import io.nuvalence.platform.notification.service.service.MessageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Expands running campaigns into messages. Each worker locks a running campaign with
+ * {@code FOR UPDATE SKIP LOCKED}, turns its next chunk of recipients into queued messages,
+ * removes those recipients and records the progress, in one transaction; a campaign interrupted
+ * by a restart resumes from its last committed chunk, and workers on this and other instances
+ * expand different campaigns concurrently.
+ */
+@Slf4j
+@Component
+public class CampaignRunner {
+
+    private final CampaignRepository campaignRepository;
+
+    private final CampaignRecipientRepository recipientRepository;
+
+    private final MessageService messageService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final int workers;
+
+    private final Duration interval;
+
+    private final int chunkSize;
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor.
+     *
+     * @param campaignRepository  campaign repository
+     * @param recipientRepository campaign recipient repository
+     * @param messageService      message service
+     * @param transactionManager  transaction manager
+     * @param enabled             whether this instance expands campaigns
+     * @param workers             number of concurrent campaign workers
+     * @param interval            pause of a worker after it found no running campaign
+     * @param chunkSize           number of recipients expanded per transaction
+     */
+    public CampaignRunner(
+            CampaignRepository campaignRepository,
+            CampaignRecipientRepository recipientRepository,
+            MessageService messageService,
+            PlatformTransactionManager transactionManager,
+            @Value("${campaign.runner.enabled:true}") boolean enabled,
+            @Value("${campaign.runner.workers:1}") int workers,
+            @Value("${campaign.runner.interval:PT1S}") Duration interval,
+            @Value("${campaign.chunkSize:500}") int chunkSize) {
+        this.campaignRepository = campaignRepository;
+        this.recipientRepository = recipientRepository;
+        this.messageService = messageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.workers = workers;
+        this.interval = interval;
+        this.chunkSize = chunkSize;
+        this.scheduler =
+                Executors.newScheduledThreadPool(
+                        workers, new CustomizableThreadFactory("campaign-runner-"));
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Campaign runner is disabled on this instance");
+            return;
+        }
+        for (int i = 0; i < workers; i++) {
+            scheduler.scheduleWithFixedDelay(
+                    this::drain, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Expands chunks until no running campaign is left unlocked.
+     */
+    void drain() {
+        try {
+            int expanded;
+            do {
+                expanded = expandChunk();
+            } while (expanded > 0 && !scheduler.isShutdown());
+        } catch (RuntimeException e) {
+            log.error("Campaign runner failed", e);
+        }
+    }
+
+    /**
+     * Expands the next chunk of recipients of an unlocked running campaign into messages.
+     *
+     * @return number of recipients expanded
+     */
+    public int expandChunk() {
+        Integer expanded = transactionTemplate.execute(status -> expandNextChunk());
+        return expanded == null ? 0 : expanded;
+    }
+
+    private int expandNextChunk() {
+        List<Campaign> running = campaignRepository.lockNextRunning(PageRequest.of(0, 1));
+        if (running.isEmpty()) {
+            return 0;
+        }
+
+        Campaign campaign = running.get(0);
+        List<CampaignRecipient> recipients =
+                recipientRepository.findByCampaignIdOrderBySequenceNumber(
+                        campaign.getId(), PageRequest.of(0, chunkSize));
+
+        List<Message> messages = new ArrayList<>(recipients.size());
+        List<UUID> recipientIds = new ArrayList<>(recipients.size());
+        for (CampaignRecipient recipient : recipients) {
+            messages.add(
+                    Message.builder()
+                            .userId(recipient.getUserId())
+                            .messageTemplateKey(campaign.getMessageTemplateKey())
+                            .parameters(new HashMap<>(campaign.getParameters()))
+                            .build());
+            recipientIds.add(recipient.getId());
+        }
+
+        long accepted = 0;
+        for (MessageSaveResult result : messageService.saveAll(messages)) {
+            if (result.isAccepted()) {
+                accepted++;
+            } else {
+                log.debug(
+                        "Campaign {} message to {} rejected: {}",
+                        campaign.getId(),
+                        messages.get(result.getIndex()).getUserId(),
+                        result.getError());
+            }
+        }
+        if (!recipientIds.isEmpty()) {
+            recipientRepository.deleteByIds(recipientIds);
+        }
+
+        campaign.setProcessedRecipients(campaign.getProcessedRecipients() + recipients.size());
+        campaign.setAcceptedMessages(campaign.getAcceptedMessages() + accepted);
+        campaign.setRejectedMessages(campaign.getRejectedMessages() + recipients.size() - accepted);
+        if (campaign.getProcessedRecipients() >= campaign.getTotalRecipients()) {
+            campaign.setStatus(Campaign.COMPLETED_STATUS);
+            campaign.setCompletedTimestamp(OffsetDateTime.now());
+            log.info(
+                    "Campaign {} completed, {} messages queued and {} rejected",
+                    campaign.getId(),
+                    campaign.getAcceptedMessages(),
+                    campaign.getRejectedMessages());
+        }
+        campaignRepository.save(campaign);
+        return recipients.size();
+    }
+}
@@ -0,0 +1,233 @@
+package io.nuvalence.platform.notification.service.service.campaign;
+
+import io.nuvalence.platform.notification.service.domain.Campaign;
+import io.nuvalence.platform.notification.service.domain.CampaignRecipient;
+import io.nuvalence.platform.notification.service.exception.BadDataException;
+import io.nuvalence.platform.notification.service.exception.NotFoundException;
+import io.nuvalence.platform.notification.service.repository.CampaignRecipientRepository;
+import io.nuvalence.platform.notification.service.repository.CampaignRepository;
+import io.nuvalence.platform.notification.service.service.TemplateService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service for campaigns. Recipients are stored in chunks, each in its own transaction, so that
+ * lists of any size can be added without holding them in memory.
+ */
+@Slf4j
+@Service
+public class CampaignService {
+
+    private final CampaignRepository campaignRepository;
+
+    private final CampaignRecipientRepository recipientRepository;
+
+    private final TemplateService templateService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    /**
+     * Constructor.
+     *
+     * @param campaignRepository  campaign repository
+     * @param recipientRepository campaign recipient repository
+     * @param templateService     template service
+     * @param transactionManager  transaction manager
+     * @param chunkSize           number of recipients stored per transaction
+     */
+    public CampaignService(
+            CampaignRepository campaignRepository,
+            CampaignRecipientRepository recipientRepository,
+            TemplateService templateService,
+            PlatformTransactionManager transactionManager,
+            @Value("${campaign.chunkSize:500}") int chunkSize) {
+        this.campaignRepository = campaignRepository;
+        this.recipientRepository = recipientRepository;
+        this.templateService = templateService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Get a campaign by id.
+     *
+     * @param id campaign id
+     * @return campaign
+     */
+    public Optional<Campaign> findBy(UUID id) {
+        return campaignRepository.findById(id);
+    }
+
+    /**
+     * Create a campaign, with its initial recipients, in one transaction.
+     *
+     * @param campaign   the campaign
+     * @param recipients user ids of the initial recipients, possibly empty
+     * @return the created campaign
+     * @throws NotFoundException if the template of the campaign does not exist
+     */
+    public Campaign create(Campaign campaign, List<String> recipients) {
+        if (templateService.getTemplate(campaign.getMessageTemplateKey()).isEmpty()) {
+            throw new NotFoundException("Template not found");
+        }
+
+        campaign.setStatus(Campaign.CREATED_STATUS);
+        campaign.setCreatedTimestamp(OffsetDateTime.now());
+        return transactionTemplate.execute(
+                status -> {
+                    Campaign created = campaignRepository.save(campaign);
+                    for (int from = 0; from < recipients.size(); from += chunkSize) {
+                        created =
+                                append(
+                                        created.getId(),
+                                        recipients.subList(
+                                                from,
+                                                Math.min(from + chunkSize, recipients.size())));
+                    }
+                    return created;
+                });
+    }
+
+    /**
+     * Add the recipients listed in a file, one user id per line, to a campaign that has not been
+     * started. The file is read twice: once to reject it as a whole if any line is not a user id,
+     * and once to store its recipients.
+     *
+     * @param id         campaign id
+     * @param recipients the file
+     * @return the campaign
+     * @throws NotFoundException if the campaign does not exist
+     * @throws BadDataException  if the campaign has been started, or a line is not a user id
+     */
+    public Campaign addRecipients(UUID id, InputStreamSource recipients) {
+        Campaign campaign =
+                findBy(id).orElseThrow(() -> new NotFoundException("Campaign not found"));
+        checkNotStarted(campaign);
+
+        try (BufferedReader reader = open(recipients)) {
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (!line.isBlank() && !isUserId(line.trim())) {
+                    throw new BadDataException(
+                            String.format("Line %d is not a user id", lineNumber));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Recipients could not be read", e);
+        }
+
+        try (BufferedReader reader = open(recipients)) {
+            List<String> chunk = new ArrayList<>(chunkSize);
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isBlank()) {
+                    chunk.add(line.trim());
+                }
+                if (chunk.size() == chunkSize) {
+                    campaign = appendInTransaction(id, chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                campaign = appendInTransaction(id, chunk);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Recipients could not be read", e);
+        }
+        return campaign;
+    }
+
+    /**
+     * Start sending a campaign to its recipients.
+     *
+     * @param id campaign id
+     * @return the started campaign
+     * @throws NotFoundException if the campaign does not exist
+     * @throws BadDataException  if the campaign has been started, or has no recipients
+     */
+    public Campaign start(UUID id) {
+        return transactionTemplate.execute(
+                status -> {
+                    Campaign campaign =
+                            campaignRepository
+                                    .lockById(id)
+                                    .orElseThrow(() -> new NotFoundException("Campaign not found"));
+                    checkNotStarted(campaign);
+                    if (campaign.getTotalRecipients() == 0) {
+                        throw new BadDataException("Campaign has no recipients");
+                    }
+
+                    campaign.setStatus(Campaign.RUNNING_STATUS);
+                    campaign.setStartedTimestamp(OffsetDateTime.now());
+                    log.info(
+                            "Starting campaign {} to {} recipients",
+                            id,
+                            campaign.getTotalRecipients());
+                    return campaignRepository.save(campaign);
+                });
+    }
+
+    private Campaign appendInTransaction(UUID id, List<String> userIds) {
+        return transactionTemplate.execute(status -> append(id, userIds));
+    }
+
+    private Campaign append(UUID id, List<String> userIds) {
+        Campaign campaign =
+                campaignRepository
+                        .lockById(id)
+                        .orElseThrow(() -> new NotFoundException("Campaign not found"));
+        checkNotStarted(campaign);
+
+        long sequenceNumber = campaign.getTotalRecipients();
+        List<CampaignRecipient> recipients = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            recipients.add(
+                    CampaignRecipient.builder()
+                            .campaignId(id)
+                            .sequenceNumber(sequenceNumber++)
+                            .userId(userId)
+                            .build());
+        }
+        recipientRepository.saveAll(recipients);
+
+        campaign.setTotalRecipients(sequenceNumber);
+        return campaignRepository.save(campaign);
+    }
+
+    private void checkNotStarted(Campaign campaign) {
+        if (!Campaign.CREATED_STATUS.equals(campaign.getStatus())) {
+            throw new BadDataException("Campaign has already been started");
+        }
+    }
+
+    private static BufferedReader open(InputStreamSource source) throws IOException {
+        return new BufferedReader(
+                new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static boolean isUserId(String value) {
+        try {
+            UUID.fromString(value);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.nuvalence.platform.notification.service.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.nuvalence.platform.notification.service.domain.Message;
+import io.nuvalence.platform.notification.service.domain.MessageOutboxEntry;
+import io.nuvalence.platform.notification.service.repository.MessageOutboxRepository;
+import io.nuvalence.platform.notification.service.service.PubSubService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Queues messages for publishing. Entries are written in the caller's transaction, so a message
+ * is queued if and only if it is saved, and are published by {@link MessageOutboxRelay}.
+ */
+@RequiredArgsConstructor
+@Component
+public class MessageOutbox {
+
+    private final MessageOutboxRepository outboxRepository;
+
+    private final PubSubService pubSubService;
+
+    /**
+     * Queue a saved message for publishing.
+     *
+     * @param message the saved message
+     * @throws IllegalStateException if the message cannot be serialized
+     */
+    public void enqueue(Message message) {
+        outboxRepository.save(toEntry(message, OffsetDateTime.now()));
+    }
+
+    /**
+     * Queue saved messages for publishing.
+     *
+     * @param messages the saved messages
+     * @throws IllegalStateException if a message cannot be serialized
+     */
+    public void enqueueAll(List<Message> messages) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<MessageOutboxEntry> entries = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            entries.add(toEntry(message, now));
+        }
+        outboxRepository.saveAll(entries);
+    }
+
+    private MessageOutboxEntry toEntry(Message message, OffsetDateTime now) {
+        try {
+            return MessageOutboxEntry.builder()
+                    .messageId(message.getId())
+                    .payload(pubSubService.serialize(message))
+                    .createdTimestamp(now)
+                    .nextAttemptTimestamp(now)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Message could not be serialized", e);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package io.nuvalence.platform.notification.service.service.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.nuvalence.platform.notification.service.domain.MessageOutboxEntry;
+import io.nuvalence.platform.notification.service.repository.MessageOutboxRepository;
+import io.nuvalence.platform.notification.service.repository.MessageRepository;
+import io.nuvalence.platform.notification.service.service.PubSubService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Drains the message outbox to PubSub. Each worker claims a batch of entries in a short
+ * transaction, locking them with {@code FOR UPDATE SKIP LOCKED} and moving their next attempt past
+ * the publish timeout, so that workers on this and other instances skip them and relay throughput
+ * grows with the number of workers. The batch is then published with no transaction open, and a
+ * second short transaction deletes the entries that were published.
+ *
+ * <p>Entries that fail to publish stay in the outbox and are retried after a backoff that doubles
+ * with each attempt, so messages are published at least once. An entry that used up its attempts
+ * is no longer published: its message is marked {@code FAILED}, it is counted in the
+ * {@code notification.outbox.abandoned} metric, and it stays in the outbox until it is dealt with
+ * by hand. A worker that
+ * dies mid-batch leaves its claim to expire, after which the batch is published again.</p>
+ */
+@Slf4j
+@Component
+public class MessageOutboxRelay {
+
+    // keeps the backoff from overflowing however many attempts are allowed
+    private static final int MAX_BACKOFF_DOUBLINGS = 20;
+
+    private static final String FAILED_STATUS = "FAILED";
+
+    private final MessageOutboxRepository outboxRepository;
+
+    private final MessageRepository messageRepository;
+
+    private final PubSubService pubSubService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final int workers;
+
+    private final Duration interval;
+
+    private final int batchSize;
+
+    private final Duration publishTimeout;
+
+    private final int maxAttempts;
+
+    private final Duration retryBackoff;
+
+    private final Counter abandoned;
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Constructor.
+     *
+     * @param outboxRepository   outbox repository
+     * @param messageRepository  message repository
+     * @param pubSubService      service publishing to PubSub
+     * @param transactionManager transaction manager
+     * @param meterRegistry      registry the abandoned entries are counted in
+     * @param enabled            whether this instance relays the outbox
+     * @param workers            number of concurrent relay workers
+     * @param interval           pause of a worker after it found the outbox empty
+     * @param batchSize          number of entries published per batch
+     * @param publishTimeout     time a batch is given to be published
+     * @param maxAttempts        number of attempts after which an entry is no longer published
+     * @param retryBackoff       pause before the first retry of an entry, doubling after each
+     */
+    public MessageOutboxRelay(
+            MessageOutboxRepository outboxRepository,
+            MessageRepository messageRepository,
+            PubSubService pubSubService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.relay.enabled:true}") boolean enabled,
+            @Value("${outbox.relay.workers:1}") int workers,
+            @Value("${outbox.relay.interval:PT0.1S}") Duration interval,
+            @Value("${outbox.relay.batchSize:100}") int batchSize,
+            @Value("${outbox.relay.publishTimeout:PT30S}") Duration publishTimeout,
+            @Value("${outbox.relay.maxAttempts:10}") int maxAttempts,
+            @Value("${outbox.relay.retryBackoff:PT1S}") Duration retryBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.messageRepository = messageRepository;
+        this.pubSubService = pubSubService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.workers = workers;
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.publishTimeout = publishTimeout;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.abandoned =
+                Counter.builder("notification.outbox.abandoned")
+                        .description("Queued messages given up on after failing every attempt")
+                        .register(meterRegistry);
+        this.scheduler =
+                Executors.newScheduledThreadPool(
+                        workers, new CustomizableThreadFactory("message-outbox-relay-"));
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Message outbox relay is disabled on this instance");
+            return;
+        }
+        for (int i = 0; i < workers; i++) {
+            scheduler.scheduleWithFixedDelay(
+                    this::drain, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Relays batches until the outbox is empty or a batch could not be fully published.
+     */
+    void drain() {
+        try {
+            int published;
+            do {
+                published = relayBatch();
+            } while (published == batchSize && !scheduler.isShutdown());
+        } catch (RuntimeException e) {
+            log.error("Message outbox relay failed", e);
+        }
+    }
+
+    /**
+     * Publishes the next batch of due outbox entries, and removes those that were published.
+     *
+     * @return number of entries published
+     */
+    public int relayBatch() {
+        List<MessageOutboxEntry> entries = transactionTemplate.execute(status -> claimBatch());
+        if (entries == null || entries.isEmpty()) {
+            return 0;
+        }
+
+        List<ListenableFuture<String>> results = new ArrayList<>(entries.size());
+        for (MessageOutboxEntry entry : entries) {
+            results.add(pubSubService.publish(entry.getPayload()));
+        }
+
+        final long deadline = System.nanoTime() + publishTimeout.toNanos();
+        List<UUID> published = new ArrayList<>(entries.size());
+        List<MessageOutboxEntry> failed = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            MessageOutboxEntry entry = entries.get(i);
+            if (awaitPublished(entry, results.get(i), deadline)) {
+                published.add(entry.getId());
+            } else {
+                failed.add(entry);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> recordOutcome(published, failed));
+        if (!failed.isEmpty()) {
+            log.warn(
+                    "{} of {} outbox entries could not be published",
+                    failed.size(),
+                    entries.size());
+        }
+        return published.size();
+    }
+
+    private List<MessageOutboxEntry> claimBatch() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<MessageOutboxEntry> entries =
+                outboxRepository.lockNextBatch(maxAttempts, now, PageRequest.of(0, batchSize));
+        if (!entries.isEmpty()) {
+            // the claim outlives the publish timeout, so it only expires if this worker dies
+            List<UUID> ids = new ArrayList<>(entries.size());
+            entries.forEach(entry -> ids.add(entry.getId()));
+            outboxRepository.scheduleNextAttempt(ids, now.plus(publishTimeout.multipliedBy(2)));
+        }
+        return entries;
+    }
+
+    private void recordOutcome(List<UUID> published, List<MessageOutboxEntry> failed) {
+        if (!published.isEmpty()) {
+            outboxRepository.deleteByIds(published);
+        }
+
+        // entries with as many earlier attempts share the same backoff
+        Map<Integer, List<UUID>> failedByAttempts = new LinkedHashMap<>();
+        List<UUID> abandonedMessages = new ArrayList<>();
+        for (MessageOutboxEntry entry : failed) {
+            failedByAttempts
+                    .computeIfAbsent(entry.getAttempts(), attempts -> new ArrayList<>())
+                    .add(entry.getId());
+            if (entry.getAttempts() + 1 >= maxAttempts) {
+                abandonedMessages.add(entry.getMessageId());
+                log.error(
+                        "Message {} could not be published in {} attempts, left in the outbox",
+                        entry.getMessageId(),
+                        maxAttempts);
+            }
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        failedByAttempts.forEach(
+                (attempts, ids) ->
+                        outboxRepository.recordFailedAttempt(ids, now.plus(backoff(attempts))));
+        if (!abandonedMessages.isEmpty()) {
+            messageRepository.updateStatus(abandonedMessages, FAILED_STATUS);
+            abandoned.increment(abandonedMessages.size());
+        }
+    }
+
+    private Duration backoff(int earlierAttempts) {
+        return retryBackoff.multipliedBy(1L << Math.min(earlierAttempts, MAX_BACKOFF_DOUBLINGS));
+    }
+
+    private boolean awaitPublished(
+            MessageOutboxEntry entry, ListenableFuture<String> result, long deadline) {
+        try {
+            result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn(
+                    "Message {} could not be published, attempt {}",
+                    entry.getMessageId(),
+                    entry.getAttempts() + 1,
+                    e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
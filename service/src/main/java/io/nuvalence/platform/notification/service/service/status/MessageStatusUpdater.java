@@ -0,0 +1,423 @@
+package io.nuvalence.platform.notification.service.service.status;
+
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkheads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Writes the outcomes of delivery attempts behind the send pipeline: the message status, the
+ * attempt count and, once sent, the provider's response. Changes are collected in a bounded queue
+ * and flushed periodically as one JDBC batch, several changes of one message coalescing into a
+ * single update. Recording a change never blocks on the database and never fails.
+ *
+ * <p>Changes that cannot be written, because the database is unavailable, are retried on the next
+ * flush, at most one batch at a time, and the queue is not drained until they are written. A
+ * database outage therefore fills the queue, after which further changes are appended to a
+ * fallback file, on a persistent volume of this instance, and read back once the database takes
+ * writes again. Changes still pending at a graceful shutdown are appended to the same file and
+ * replayed on the next start.</p>
+ */
+@Slf4j
+@Component
+@SuppressWarnings("checkstyle:ClassFanOutComplexity")
+public class MessageStatusUpdater {
+
+    // a null parameter keeps the current value, so that a failed attempt only counts the attempt
+    private static final String UPDATE_SQL =
+            "UPDATE message SET status = COALESCE(?, status),"
+                    + " sent_timestamp = COALESCE(?, sent_timestamp),"
+                    + " provider_message_id = COALESCE(?, provider_message_id),"
+                    + " provider_response_time_millis = COALESCE(?, provider_response_time_millis),"
+                    + " attempt_count = attempt_count + ?"
+                    + " WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Bulkheads bulkheads;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<StatusChange> queue;
+
+    private final int batchSize;
+
+    private final Duration flushInterval;
+
+    private final Path fallbackFile;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Object flushLock = new Object();
+
+    // changes that could not be written yet, oldest first; only accessed under flushLock
+    private final Map<UUID, StatusChange> pending = new LinkedHashMap<>();
+
+    // whether the last write failed, so that the queue is left to fill; guarded by flushLock
+    private boolean writeFailed;
+
+    private final Object fallbackLock = new Object();
+
+    // whether the fallback file may hold changes to read back; only set under fallbackLock
+    private volatile boolean fallbackPending;
+
+    /**
+     * Constructor.
+     *
+     * @param jdbcTemplate       JDBC template
+     * @param bulkheads          bulkheads limiting concurrent downstream calls
+     * @param transactionManager transaction manager
+     * @param queueCapacity      maximum number of changes waiting to be flushed
+     * @param batchSize          maximum number of changes written per flush
+     * @param flushInterval      pause between flushes
+     * @param fallbackFile       file changes are saved to when they cannot be kept in memory
+     */
+    public MessageStatusUpdater(
+            JdbcTemplate jdbcTemplate,
+            Bulkheads bulkheads,
+            PlatformTransactionManager transactionManager,
+            @Value("${messageStatus.queueCapacity:10000}") int queueCapacity,
+            @Value("${messageStatus.batchSize:500}") int batchSize,
+            @Value("${messageStatus.flushInterval:PT0.1S}") Duration flushInterval,
+            @Value("${messageStatus.fallbackFile}") Path fallbackFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bulkheads = bulkheads;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.fallbackFile = fallbackFile;
+        this.scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        new CustomizableThreadFactory("message-status-updater-"));
+    }
+
+    @PostConstruct
+    void start() {
+        synchronized (flushLock) {
+            replayFallbackFile();
+        }
+        scheduler.scheduleWithFixedDelay(
+                this::flushQuietly,
+                flushInterval.toNanos(),
+                flushInterval.toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(
+                    flushInterval.toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+                log.warn("Message status updater did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (flushLock) {
+            while (flush() > 0) {
+                // drain everything the queue still holds
+            }
+            drainQueue(queue.size());
+            if (!pending.isEmpty()) {
+                log.warn(
+                        "{} message status changes could not be written, saving to {}",
+                        pending.size(),
+                        fallbackFile);
+                appendToFallbackFile(pending.values());
+            }
+        }
+    }
+
+    /**
+     * Record an attempt that moved a message to a new status, to be written shortly.
+     *
+     * @param id     message id
+     * @param status new status
+     */
+    public void update(UUID id, String status) {
+        offer(new StatusChange(id, status, null, null, null, 1));
+    }
+
+    /**
+     * Record an attempt that handed a message to its provider, to be written shortly.
+     *
+     * @param id       message id
+     * @param status   new status
+     * @param response the provider's response
+     */
+    public void update(UUID id, String status, ProviderResponse response) {
+        offer(
+                new StatusChange(
+                        id,
+                        status,
+                        response.getSentTimestamp(),
+                        response.getProviderMessageId(),
+                        response.getResponseTime().toMillis(),
+                        1));
+    }
+
+    /**
+     * Record a failed attempt, which leaves the message status as it is, to be written shortly.
+     *
+     * @param id message id
+     */
+    public void recordFailedAttempt(UUID id) {
+        offer(new StatusChange(id, null, null, null, null, 1));
+    }
+
+    /**
+     * Write the next batch of changes: those pending from an earlier flush first, topped up from
+     * the fallback file and the queue unless the last write failed.
+     *
+     * @return number of messages updated
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            if (!writeFailed) {
+                if (fallbackPending && pending.size() < batchSize) {
+                    replayFallbackFile();
+                }
+                drainQueue(batchSize - pending.size());
+            }
+            if (pending.isEmpty()) {
+                return 0;
+            }
+
+            List<StatusChange> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            for (StatusChange change : pending.values()) {
+                if (batch.size() == batchSize) {
+                    break;
+                }
+                batch.add(change);
+            }
+            try {
+                bulkheads.getDatabase().run(() -> write(batch));
+            } catch (RuntimeException e) {
+                writeFailed = true;
+                log.warn("{} message status changes could not be written", batch.size(), e);
+                return 0;
+            }
+            writeFailed = false;
+            batch.forEach(change -> pending.remove(change.id));
+            return batch.size();
+        }
+    }
+
+    private void offer(StatusChange change) {
+        if (!queue.offer(change)) {
+            log.debug("Message status queue is full, saving change of message {}", change.id);
+            appendToFallbackFile(List.of(change));
+        }
+    }
+
+    private void drainQueue(int maxChanges) {
+        if (maxChanges <= 0) {
+            return;
+        }
+        List<StatusChange> drained = new ArrayList<>(Math.min(maxChanges, queue.size()));
+        queue.drainTo(drained, maxChanges);
+        drained.forEach(this::addPending);
+    }
+
+    private void addPending(StatusChange change) {
+        // re-insert, so that iteration order follows the latest change
+        StatusChange earlier = pending.remove(change.id);
+        pending.put(change.id, earlier == null ? change : earlier.then(change));
+    }
+
+    private void flushQuietly() {
+        try {
+            int written;
+            do {
+                written = flush();
+            } while (written >= batchSize);
+        } catch (RuntimeException e) {
+            log.error("Message status updater failed", e);
+        }
+    }
+
+    private void write(List<StatusChange> changes) {
+        transactionTemplate.executeWithoutResult(
+                transaction ->
+                        jdbcTemplate.batchUpdate(
+                                UPDATE_SQL,
+                                changes,
+                                changes.size(),
+                                (statement, change) -> {
+                                    statement.setString(1, change.status);
+                                    statement.setTimestamp(
+                                            2,
+                                            change.sentTimestamp == null
+                                                    ? null
+                                                    : Timestamp.from(
+                                                            change.sentTimestamp.toInstant()));
+                                    statement.setString(3, change.providerMessageId);
+                                    statement.setObject(
+                                            4, change.providerResponseTimeMillis, Types.BIGINT);
+                                    statement.setInt(5, change.attempts);
+                                    statement.setObject(6, change.id);
+                                }));
+    }
+
+    private void appendToFallbackFile(Collection<StatusChange> changes) {
+        synchronized (fallbackLock) {
+            try (BufferedWriter writer =
+                    Files.newBufferedWriter(
+                            fallbackFile,
+                            StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.APPEND)) {
+                for (StatusChange change : changes) {
+                    writer.write(change.toLine());
+                    writer.newLine();
+                }
+                fallbackPending = true;
+            } catch (IOException e) {
+                List<UUID> lost = new ArrayList<>(changes.size());
+                changes.forEach(change -> lost.add(change.id));
+                log.error(
+                        "Message status changes could not be saved to {}, lost: {}",
+                        fallbackFile,
+                        lost,
+                        e);
+            }
+        }
+    }
+
+    // called under flushLock
+    private void replayFallbackFile() {
+        synchronized (fallbackLock) {
+            // a file that cannot be read is left for the next start rather than retried
+            fallbackPending = false;
+            if (!Files.exists(fallbackFile)) {
+                return;
+            }
+            try {
+                List<String> lines = Files.readAllLines(fallbackFile, StandardCharsets.UTF_8);
+                for (String line : lines) {
+                    if (!line.isBlank()) {
+                        addPending(StatusChange.fromLine(line));
+                    }
+                }
+                log.info("Replaying {} message status changes from {}", lines.size(), fallbackFile);
+                // once read, the changes are pending again, and saved again if still unwritten
+                Files.delete(fallbackFile);
+            } catch (IOException | IllegalArgumentException | DateTimeParseException e) {
+                log.error("Message status changes could not be replayed from {}", fallbackFile, e);
+            }
+        }
+    }
+
+    private static final class StatusChange {
+
+        private static final int FIELDS = 6;
+
+        private final UUID id;
+
+        private final String status;
+
+        private final OffsetDateTime sentTimestamp;
+
+        private final String providerMessageId;
+
+        private final Long providerResponseTimeMillis;
+
+        private final int attempts;
+
+        private StatusChange(
+                UUID id,
+                String status,
+                OffsetDateTime sentTimestamp,
+                String providerMessageId,
+                Long providerResponseTimeMillis,
+                int attempts) {
+            this.id = id;
+            this.status = status;
+            this.sentTimestamp = sentTimestamp;
+            this.providerMessageId = providerMessageId;
+            this.providerResponseTimeMillis = providerResponseTimeMillis;
+            this.attempts = attempts;
+        }
+
+        private static StatusChange fromLine(String line) {
+            String[] fields = line.split(",", FIELDS);
+            if (fields.length != FIELDS) {
+                throw new IllegalArgumentException("Malformed message status change: " + line);
+            }
+            return new StatusChange(
+                    UUID.fromString(fields[0]),
+                    parse(fields[2], Function.identity()),
+                    parse(fields[3], OffsetDateTime::parse),
+                    parse(fields[5], Function.identity()),
+                    parse(fields[4], Long::valueOf),
+                    Integer.parseInt(fields[1]));
+        }
+
+        private static <T> T parse(String field, Function<String, T> parser) {
+            if (field.isEmpty()) {
+                return null;
+            }
+            return parser.apply(field);
+        }
+
+        // combines this change with a later one of the same message
+        private StatusChange then(StatusChange later) {
+            return new StatusChange(
+                    id,
+                    later.status == null ? status : later.status,
+                    later.sentTimestamp == null ? sentTimestamp : later.sentTimestamp,
+                    later.providerMessageId == null ? providerMessageId : later.providerMessageId,
+                    later.providerResponseTimeMillis == null
+                            ? providerResponseTimeMillis
+                            : later.providerResponseTimeMillis,
+                    attempts + later.attempts);
+        }
+
+        // the provider message id goes last, being the only field that is not fixed-format
+        private String toLine() {
+            return String.join(
+                    ",",
+                    id.toString(),
+                    String.valueOf(attempts),
+                    status == null ? "" : status,
+                    sentTimestamp == null ? "" : sentTimestamp.toString(),
+                    providerResponseTimeMillis == null ? "" : providerResponseTimeMillis.toString(),
+                    providerMessageId == null ? "" : providerMessageId);
+        }
+    }
+}
@@ -1,31 +1,46 @@
 package io.nuvalence.platform.notification.service.service.usermanagementapi;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.nuvalence.auth.token.SelfSignedTokenGenerator;
 import io.nuvalence.auth.util.RsaKeyUtility;
 import io.nuvalence.platform.notification.service.exception.TokenGeneratorCreationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.annotation.PostConstruct;
 
 /**
  * Simple class that houses and provides the service to service token used in user-manager
  * communication.
+ *
+ * <p>Reads never lock: the current token is published through a volatile reference. The token is
+ * renewed in the background well before it gets old enough to be refreshed on the request path,
+ * and any refresh is single-flight, so concurrent sends never sign a token more than once.</p>
  */
 @Slf4j
 @Component
 public class AuthTokenProvider {
 
+    private static final Duration TOKEN_LIFETIME = Duration.ofMinutes(5);
+
+    private static final Duration MAX_TOKEN_AGE = Duration.ofMinutes(3);
+
     private SelfSignedTokenGenerator generator;
-    private String token;
 
-    private Instant tokenLastGenerated = Instant.MIN;
+    private volatile IssuedToken current;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private final Timer refreshTimer;
 
     @Value("${auth.token-client.self-signed.issuer}")
     private String tokenIssuer;
@@ -33,13 +48,25 @@ public class AuthTokenProvider {
     @Value("${auth.token-client.self-signed.private-key}")
     private String privateKey;
 
+    /**
+     * Constructor.
+     *
+     * @param meterRegistry registry the refresh count and latency are published to
+     */
+    public AuthTokenProvider(MeterRegistry meterRegistry) {
+        this.refreshTimer =
+                Timer.builder("auth.token.refresh")
+                        .description("Generation of the service to service token")
+                        .register(meterRegistry);
+    }
+
     @PostConstruct
     private void createGenerator() {
         try {
             generator =
                     new SelfSignedTokenGenerator(
                             tokenIssuer,
-                            Duration.ofMinutes(5),
+                            TOKEN_LIFETIME,
                             RsaKeyUtility.getPrivateKeyFromString(privateKey));
         } catch (IOException e) {
             throw new TokenGeneratorCreationException("Error creating token generator", e);
@@ -52,23 +79,68 @@ public class AuthTokenProvider {
      * @return JWT as String
      */
     public String getToken() {
-        if (token == null
-                || tokenLastGenerated.isBefore(Instant.now().minus(Duration.ofMinutes(3)))) {
-            generateToken();
+        IssuedToken token = current;
+        if (token == null || token.isOlderThan(MAX_TOKEN_AGE)) {
+            token = refreshIfOlderThan(MAX_TOKEN_AGE);
         }
 
-        return token;
+        return token.value;
     }
 
-    private void generateToken() {
+    /**
+     * Renews the token ahead of time, so that {@link #getToken()} does not have to.
+     */
+    @Scheduled(
+            fixedDelayString = "${auth.token-client.refresh-interval:PT1M}",
+            initialDelayString = "${auth.token-client.refresh-initial-delay:PT0S}")
+    public void refreshInBackground() {
+        try {
+            refreshIfOlderThan(Duration.ZERO);
+        } catch (RuntimeException e) {
+            log.error("Background refresh of the service to service token failed", e);
+        }
+    }
+
+    private IssuedToken refreshIfOlderThan(Duration maxAge) {
+        refreshLock.lock();
+        try {
+            // another thread may have refreshed while this one waited for the lock
+            IssuedToken token = current;
+            if (token == null || token.isOlderThan(maxAge)) {
+                token = refreshTimer.record(this::generateToken);
+                current = token;
+            }
+            return token;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private IssuedToken generateToken() {
         if (generator == null) {
             throw new IllegalStateException(
                     "Token Generator not configured. This is likely because the environment has"
                             + " not been set.");
         }
-        token =
+        return new IssuedToken(
                 generator.generateToken(
-                        "notification-service", List.of("um:reader", "um:application-client"));
-        tokenLastGenerated = Instant.now();
+                        "notification-service", List.of("um:reader", "um:application-client")),
+                Instant.now());
+    }
+
+    private static final class IssuedToken {
+
+        private final String value;
+
+        private final Instant generatedAt;
+
+        private IssuedToken(String value, Instant generatedAt) {
+            this.value = value;
+            this.generatedAt = generatedAt;
+        }
+
+        private boolean isOlderThan(Duration age) {
+            return !generatedAt.plus(age).isAfter(Instant.now());
+        }
     }
 }
@@ -0,0 +1,135 @@
+package io.nuvalence.platform.notification.service.service.usermanagementapi;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.nuvalence.platform.notification.usermanagent.client.ApiException;
+import io.nuvalence.platform.notification.usermanagent.client.generated.models.UserDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cache of users and their preferences, so that several notifications sent to the same recipient
+ * in a short time cost a single user management call. Users that do not exist are cached too,
+ * for a separate and usually shorter time.
+ *
+ * <p>Cached users are shared between callers and must not be modified.</p>
+ */
+@Slf4j
+@Component
+public class UserCache {
+
+    private static final String CACHE_NAME = "users";
+
+    private final Cache<UUID, Optional<UserDTO>> cache;
+
+    /**
+     * Loads a user from user management.
+     */
+    @FunctionalInterface
+    public interface UserLoader {
+        /**
+         * Load a user.
+         *
+         * @param userId id of the user
+         * @return the user, or empty if user management does not know it
+         * @throws ApiException for any other error, which is not cached
+         */
+        Optional<UserDTO> load(UUID userId) throws ApiException;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize        maximum number of users kept in memory
+     * @param timeToLive     time a found user is kept
+     * @param notFoundTtl    time a user that was not found is remembered as missing
+     * @param meterRegistry  registry the cache statistics are published to
+     */
+    public UserCache(
+            @Value("${cache.users.maxSize:10000}") long maxSize,
+            @Value("${cache.users.timeToLive:PT1M}") Duration timeToLive,
+            @Value("${cache.users.notFoundTimeToLive:PT30S}") Duration notFoundTtl,
+            MeterRegistry meterRegistry) {
+        this.cache =
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfter(new FoundOrMissingExpiry(timeToLive, notFoundTtl))
+                        .recordStats()
+                        .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get a user, loading it on a miss. Concurrent misses for the same user share one load.
+     *
+     * @param userId id of the user
+     * @param loader loads the user from user management
+     * @return the user, or empty if user management does not know it
+     * @throws ApiException if the user could not be loaded
+     */
+    public Optional<UserDTO> get(UUID userId, UserLoader loader) throws ApiException {
+        try {
+            return cache.get(
+                    userId,
+                    id -> {
+                        try {
+                            return loader.load(id);
+                        } catch (ApiException e) {
+                            throw new LoadFailedException(e);
+                        }
+                    });
+        } catch (LoadFailedException e) {
+            throw e.getApiException();
+        }
+    }
+
+    private static final class FoundOrMissingExpiry implements Expiry<UUID, Optional<UserDTO>> {
+
+        private final long foundNanos;
+
+        private final long missingNanos;
+
+        private FoundOrMissingExpiry(Duration found, Duration missing) {
+            this.foundNanos = found.toNanos();
+            this.missingNanos = missing.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(UUID key, Optional<UserDTO> value, long currentTime) {
+            return value.isPresent() ? foundNanos : missingNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(
+                UUID key, Optional<UserDTO> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(
+                UUID key, Optional<UserDTO> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static final class LoadFailedException extends RuntimeException {
+
+        private static final long serialVersionUID = 2403183462187713025L;
+
+        private LoadFailedException(ApiException cause) {
+            super(cause);
+        }
+
+        private ApiException getApiException() {
+            return (ApiException) getCause();
+        }
+    }
+}
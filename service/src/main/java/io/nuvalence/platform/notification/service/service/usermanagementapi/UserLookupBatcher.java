@@ -0,0 +1,177 @@
+package io.nuvalence.platform.notification.service.service.usermanagementapi;
+
+import io.nuvalence.platform.notification.service.service.usermanagementapi.UserCache.UserLoader;
+import io.nuvalence.platform.notification.usermanagent.client.ApiException;
+import io.nuvalence.platform.notification.usermanagent.client.generated.models.UserDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Coalesces user lookups made by concurrent notifications. Lookups arriving within a short window
+ * are collected into one batch; a user requested several times in the batch is fetched once, and
+ * the batch is fetched with a bounded number of parallel requests. Every caller still receives its
+ * own result.
+ *
+ * <p>Batching is off by default: user management has no bulk endpoint, so a batch still makes one
+ * request per user, and the user cache already fetches a user requested concurrently only once.
+ * Turned on, every lookup waits for the window and runs on the batcher's own threads, which only
+ * pays off once lookups can be sent in bulk.</p>
+ */
+@Slf4j
+@Component
+public class UserLookupBatcher {
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    private final Duration timeout;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final ExecutorService requestExecutor;
+
+    private final Object lock = new Object();
+
+    private Map<UUID, PendingLookup> pending = new LinkedHashMap<>();
+
+    private boolean flushScheduled;
+
+    private boolean stopped;
+
+    /**
+     * Constructor.
+     *
+     * @param window              how long a lookup waits for others to join its batch, zero to
+     *                            disable batching
+     * @param maxBatchSize        batch size at which a batch is sent without waiting
+     * @param maxParallelRequests maximum number of concurrent requests to user management
+     * @param timeout             how long a lookup waits for its batch to fetch the user
+     */
+    public UserLookupBatcher(
+            @Value("${userManagement.batch.window:PT0S}") Duration window,
+            @Value("${userManagement.batch.maxSize:50}") int maxBatchSize,
+            @Value("${userManagement.batch.maxParallelRequests:8}") int maxParallelRequests,
+            @Value("${userManagement.batch.timeout:PT10S}") Duration timeout) {
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = timeout;
+        // both executors start their threads lazily, so they cost nothing when batching is off
+        this.scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        new CustomizableThreadFactory("user-lookup-batcher-"));
+        this.requestExecutor =
+                Executors.newFixedThreadPool(
+                        maxParallelRequests, new CustomizableThreadFactory("user-lookup-"));
+    }
+
+    /**
+     * Look a user up as part of the current batch, blocking until its result is available.
+     *
+     * @param userId id of the user
+     * @param loader fetches a single user from user management
+     * @return the user, or empty if user management does not know it
+     * @throws ApiException if the user could not be fetched in time, or the batcher is shut down
+     */
+    public Optional<UserDTO> lookup(UUID userId, UserLoader loader) throws ApiException {
+        if (windowNanos <= 0) {
+            return loader.load(userId);
+        }
+
+        CompletableFuture<Optional<UserDTO>> result;
+        synchronized (lock) {
+            if (stopped) {
+                throw new ApiException("User lookups are shut down");
+            }
+            result = pending.computeIfAbsent(userId, id -> new PendingLookup(loader)).result;
+            if (pending.size() >= maxBatchSize) {
+                dispatchPending();
+            } else if (!flushScheduled) {
+                // a flush still scheduled after a full batch was sent simply sends the next one
+                // early
+                flushScheduled = true;
+                scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        try {
+            return result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ApiException("User lookup timed out after " + timeout);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ApiException) {
+                throw (ApiException) e.getCause();
+            }
+            throw new ApiException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(e);
+        }
+    }
+
+    private void flush() {
+        synchronized (lock) {
+            flushScheduled = false;
+            dispatchPending();
+        }
+    }
+
+    private void dispatchPending() {
+        Map<UUID, PendingLookup> batch = pending;
+        pending = new LinkedHashMap<>();
+        log.trace("Dispatching batch of {} user lookups", batch.size());
+        batch.forEach((userId, lookup) -> requestExecutor.execute(() -> lookup.complete(userId)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        synchronized (lock) {
+            stopped = true;
+            // lookups not dispatched yet would otherwise wait for a flush that never comes
+            pending.values()
+                    .forEach(
+                            lookup ->
+                                    lookup.result.completeExceptionally(
+                                            new ApiException("User lookups are shut down")));
+            pending = new LinkedHashMap<>();
+        }
+        scheduler.shutdownNow();
+        requestExecutor.shutdown();
+    }
+
+    private static final class PendingLookup {
+
+        private final UserLoader loader;
+
+        private final CompletableFuture<Optional<UserDTO>> result = new CompletableFuture<>();
+
+        private PendingLookup(UserLoader loader) {
+            this.loader = loader;
+        }
+
+        private void complete(UUID userId) {
+            try {
+                result.complete(loader.load(userId));
+            } catch (ApiException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
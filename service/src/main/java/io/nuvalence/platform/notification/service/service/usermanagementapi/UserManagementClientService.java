@@ -1,38 +1,106 @@
 package io.nuvalence.platform.notification.service.service.usermanagementapi;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkhead;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkheads;
 import io.nuvalence.platform.notification.usermanagent.client.ApiClient;
 import io.nuvalence.platform.notification.usermanagent.client.ApiException;
 import io.nuvalence.platform.notification.usermanagent.client.generated.api.UsersApi;
 import io.nuvalence.platform.notification.usermanagent.client.generated.models.UserDTO;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
 
 /**
  * Service for managing user management client.
+ *
+ * <p>A single {@link UsersApi}, and therefore a single {@link HttpClient}, is shared for the
+ * lifetime of the bean so that connections are pooled and, over HTTP/2, multiplexed across
+ * notifications. Lookups go through {@link UserCache}, and misses are coalesced by
+ * {@link UserLookupBatcher}.</p>
  */
-@RequiredArgsConstructor
 @Slf4j
 @Service
 public class UserManagementClientService {
 
-    @Value("${userManagement.baseUrl}")
-    private String baseUrl;
+    private static final int NOT_FOUND = 404;
+
+    private final UsersApi usersApi;
+
+    private final UserCache userCache;
+
+    private final UserLookupBatcher userLookupBatcher;
+
+    private final Bulkhead bulkhead;
 
-    private final AuthTokenProvider authTokenProvider;
+    private final ExecutorService executor;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor.
+     *
+     * @param baseUrl           user management base url
+     * @param connectTimeout    timeout for establishing a connection
+     * @param readTimeout       timeout for each request
+     * @param http2             whether to negotiate HTTP/2
+     * @param executorThreads   size of the client executor, 0 to use the HttpClient default
+     * @param authTokenProvider provider of the service to service token
+     * @param userCache         cache of users
+     * @param userLookupBatcher batcher of concurrent user lookups
+     * @param bulkheads         downstream bulkheads
+     * @param meterRegistry     registry the user management call latency is published to
+     */
+    public UserManagementClientService(
+            @Value("${userManagement.baseUrl}") String baseUrl,
+            @Value("${userManagement.connectTimeout:PT2S}") Duration connectTimeout,
+            @Value("${userManagement.readTimeout:PT5S}") Duration readTimeout,
+            @Value("${userManagement.http2:true}") boolean http2,
+            @Value("${userManagement.executorThreads:0}") int executorThreads,
+            AuthTokenProvider authTokenProvider,
+            UserCache userCache,
+            UserLookupBatcher userLookupBatcher,
+            Bulkheads bulkheads,
+            MeterRegistry meterRegistry) {
+        this.userCache = userCache;
+        this.meterRegistry = meterRegistry;
+        this.userLookupBatcher = userLookupBatcher;
+        this.bulkhead = bulkheads.getUserManagement();
+        HttpClient.Builder httpClientBuilder =
+                HttpClient.newBuilder()
+                        .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(connectTimeout);
+        if (executorThreads > 0) {
+            executor =
+                    Executors.newFixedThreadPool(
+                            executorThreads,
+                            new CustomizableThreadFactory("user-management-client-"));
+            httpClientBuilder.executor(executor);
+        } else {
+            executor = null;
+        }
 
-    private UsersApi createUsersApi() {
         final ApiClient apiClient = new ApiClient();
+        apiClient.setHttpClientBuilder(httpClientBuilder);
+        apiClient.setReadTimeout(readTimeout);
         apiClient.updateBaseUri(baseUrl);
         apiClient.setRequestInterceptor(
                 request ->
                         request.header("authorization", "Bearer " + authTokenProvider.getToken()));
 
-        return new UsersApi(apiClient);
+        this.usersApi = new UsersApi(apiClient);
     }
 
     /**
@@ -43,12 +111,41 @@ public class UserManagementClientService {
      * @throws ApiException for possible errors reaching user management service.
      */
     public Optional<UserDTO> getUser(UUID userId) throws ApiException {
-        UsersApi api = createUsersApi();
         try {
-            return Optional.of(api.getUserById(userId));
+            return userCache.get(userId, id -> userLookupBatcher.lookup(id, this::fetchUser));
         } catch (ApiException e) {
             log.error("Error getting user from user management service", e);
             return Optional.empty();
         }
     }
+
+    private Optional<UserDTO> fetchUser(UUID userId) throws ApiException {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            UserDTO user = bulkhead.call(() -> usersApi.getUserById(userId));
+            outcome = "found";
+            return Optional.of(user);
+        } catch (ApiException e) {
+            if (e.getCode() == NOT_FOUND) {
+                log.warn("User {} not found in user management service", userId);
+                outcome = "not_found";
+                return Optional.empty();
+            }
+            throw e;
+        } finally {
+            Timer.builder("usermanagement.user.fetch")
+                    .description("Fetch of a user from user management, on a cache miss")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
 }
@@ -0,0 +1,170 @@
+package io.nuvalence.platform.notification.service.utils;
+
+import io.nuvalence.platform.notification.service.exception.BadDataException;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * <p>
+ * Writes an XLIFF 1.2 document straight to a stream, minified, as its groups and translation
+ * units are given. The document is well-formed by construction, and every value is checked for
+ * characters XML does not allow as it is written, so that it does not need to be parsed again.
+ * </p>
+ */
+public final class MinifiedXliffWriter implements AutoCloseable {
+
+    private static final String XLIFF_NAMESPACE = "urn:oasis:names:tc:xliff:document:1.2";
+
+    private static final String XLIFF_VERSION = "1.2";
+
+    private static final int LAST_BASIC_CHARACTER = 0xFFFD;
+
+    private final XMLStreamWriter writer;
+
+    private String sourceLanguage;
+
+    private String targetLanguage;
+
+    /**
+     * Constructor.
+     *
+     * @param output stream the document is written to, as UTF-8; it is not closed by this writer
+     * @throws XMLStreamException if the stream cannot be written to
+     */
+    public MinifiedXliffWriter(OutputStream output) throws XMLStreamException {
+        this.writer =
+                XMLOutputFactory.newFactory()
+                        .createXMLStreamWriter(output, StandardCharsets.UTF_8.name());
+    }
+
+    /**
+     * Starts the document and its single file.
+     *
+     * @param original       name of the original file
+     * @param sourceLanguage language of the sources
+     * @param targetLanguage language of the targets
+     * @param datatype       XLIFF data type of the original file
+     * @param comment        comment written before the file
+     * @throws XMLStreamException if the stream cannot be written to
+     */
+    public void startDocument(
+            String original,
+            String sourceLanguage,
+            String targetLanguage,
+            String datatype,
+            String comment)
+            throws XMLStreamException {
+        this.sourceLanguage = sourceLanguage;
+        this.targetLanguage = targetLanguage;
+
+        writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+        writer.setDefaultNamespace(XLIFF_NAMESPACE);
+        writer.writeStartElement(XLIFF_NAMESPACE, "xliff");
+        writer.writeDefaultNamespace(XLIFF_NAMESPACE);
+        writer.writeAttribute("version", XLIFF_VERSION);
+        writer.writeComment(validated(comment));
+        writer.writeStartElement(XLIFF_NAMESPACE, "file");
+        writer.writeAttribute("original", validated(original));
+        writer.writeAttribute("source-language", validated(sourceLanguage));
+        writer.writeAttribute("target-language", validated(targetLanguage));
+        writer.writeAttribute("datatype", validated(datatype));
+        writer.writeStartElement(XLIFF_NAMESPACE, "body");
+    }
+
+    /**
+     * Starts a group.
+     *
+     * @param resname name of the resource the group holds, also used as its id
+     * @throws XMLStreamException if the stream cannot be written to
+     */
+    public void startGroup(String resname) throws XMLStreamException {
+        writer.writeStartElement(XLIFF_NAMESPACE, "group");
+        writer.writeAttribute("id", validated(resname));
+        writer.writeAttribute("resname", validated(resname));
+    }
+
+    /**
+     * Ends the innermost group.
+     *
+     * @throws XMLStreamException if the stream cannot be written to
+     */
+    public void endGroup() throws XMLStreamException {
+        writer.writeEndElement();
+    }
+
+    /**
+     * Writes a translation unit.
+     *
+     * @param resname name of the resource the unit translates, also used as its id
+     * @param source  text in the source language
+     * @param target  text in the target language
+     * @throws XMLStreamException if the stream cannot be written to
+     */
+    public void writeTransUnit(String resname, String source, String target)
+            throws XMLStreamException {
+        writer.writeStartElement(XLIFF_NAMESPACE, "trans-unit");
+        writer.writeAttribute("id", validated(resname));
+        writer.writeAttribute("resname", validated(resname));
+        writeText("source", sourceLanguage, source);
+        writeText("target", targetLanguage, target);
+        writer.writeEndElement();
+    }
+
+    /**
+     * Ends the file and the document, and flushes it to the stream.
+     *
+     * @throws XMLStreamException if the stream cannot be written to
+     */
+    public void endDocument() throws XMLStreamException {
+        writer.writeEndDocument();
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        writer.close();
+    }
+
+    private void writeText(String element, String language, String text) throws XMLStreamException {
+        writer.writeStartElement(XLIFF_NAMESPACE, element);
+        writer.writeAttribute(
+                XMLConstants.XML_NS_PREFIX, XMLConstants.XML_NS_URI, "lang", language);
+        writer.writeCharacters(validated(text));
+        writer.writeEndElement();
+    }
+
+    // null is written as an empty value
+    private static String validated(String value) {
+        if (value == null) {
+            return "";
+        }
+        value.codePoints()
+                .filter(codePoint -> !isXmlCharacter(codePoint))
+                .findFirst()
+                .ifPresent(
+                        codePoint -> {
+                            throw new BadDataException(
+                                    String.format(
+                                            "Localization data contains a character not allowed"
+                                                    + " in XML: U+%04X",
+                                            codePoint));
+                        });
+        return value;
+    }
+
+    // the Char production of XML 1.0; unpaired surrogates come through as surrogate code points
+    private static boolean isXmlCharacter(int codePoint) {
+        return codePoint == '\t'
+                || codePoint == '\n'
+                || codePoint == '\r'
+                || codePoint >= ' ' && codePoint < Character.MIN_SURROGATE
+                || codePoint > Character.MAX_SURROGATE && codePoint <= LAST_BASIC_CHARACTER
+                || codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT;
+    }
+}
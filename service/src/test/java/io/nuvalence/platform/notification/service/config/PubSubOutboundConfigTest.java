@@ -0,0 +1,73 @@
+package io.nuvalence.platform.notification.service.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.spring.pubsub.core.publisher.PubSubPublisherOperations;
+import com.google.cloud.spring.pubsub.integration.outbound.PubSubMessageHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+class PubSubOutboundConfigTest {
+
+    private static final String TOPIC = "topic";
+
+    private final PubSubPublisherOperations publisher = mock(PubSubPublisherOperations.class);
+
+    private final SettableListenableFuture<String> future = new SettableListenableFuture<>();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PubSubMessageHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        when(publisher.publish(eq(TOPIC), any(), anyMap())).thenReturn(future);
+        meterRegistry = new SimpleMeterRegistry();
+        handler = PubSubOutboundConfig.asyncMessageHandler(publisher, TOPIC, meterRegistry);
+    }
+
+    @Test
+    void asyncMessageHandler_DoesNotWaitForPublish() {
+        handler.handleMessage(MessageBuilder.withPayload("payload").build());
+
+        assertFalse(handler.isSync());
+        assertEquals(0, publishCount("success"));
+        assertEquals(0, publishCount("failure"));
+    }
+
+    @Test
+    void asyncMessageHandler_RecordsSuccessfulPublish() {
+        handler.handleMessage(MessageBuilder.withPayload("payload").build());
+        future.set("message-id");
+
+        assertEquals(1, publishCount("success"));
+        assertEquals(0, publishCount("failure"));
+    }
+
+    @Test
+    void asyncMessageHandler_RecordsFailedPublish() {
+        handler.handleMessage(MessageBuilder.withPayload("payload").build());
+        future.setException(new IllegalStateException("unavailable"));
+
+        assertEquals(0, publishCount("success"));
+        assertEquals(1, publishCount("failure"));
+    }
+
+    private long publishCount(String outcome) {
+        return meterRegistry
+                .get("pubsub.publish")
+                .tag("topic", TOPIC)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+}
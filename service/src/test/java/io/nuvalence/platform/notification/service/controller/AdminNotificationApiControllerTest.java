@@ -5,9 +5,12 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -186,9 +189,14 @@ class AdminNotificationApiControllerTest {
 
         var responseString =
                 mockMvc.perform(
-                                get("/api/v1/admin/localization-data/")
-                                        .param("locale", targetLanguage))
+                                asyncDispatch(
+                                        mockMvc.perform(
+                                                        get("/api/v1/admin/localization-data/")
+                                                                .param("locale", targetLanguage))
+                                                .andExpect(request().asyncStarted())
+                                                .andReturn()))
                         .andExpect(status().isOk())
+                        .andExpect(content().contentType(MediaType.APPLICATION_XML))
                         .andReturn()
                         .getResponse()
                         .getContentAsString();
@@ -205,9 +213,14 @@ class AdminNotificationApiControllerTest {
 
         var responseString =
                 mockMvc.perform(
-                                get("/api/v1/admin/localization-data/")
-                                        .param("locale", targetLanguage))
+                                asyncDispatch(
+                                        mockMvc.perform(
+                                                        get("/api/v1/admin/localization-data/")
+                                                                .param("locale", targetLanguage))
+                                                .andExpect(request().asyncStarted())
+                                                .andReturn()))
                         .andExpect(status().isOk())
+                        .andExpect(content().contentType(MediaType.APPLICATION_XML))
                         .andReturn()
                         .getResponse()
                         .getContentAsString();
@@ -215,6 +228,13 @@ class AdminNotificationApiControllerTest {
         verifyCompleteXliffResponse(responseString, targetLanguage, "french", 1, true);
     }
 
+    @Test
+    void testGetLocalizationDataInvalidLocale() throws Exception {
+
+        mockMvc.perform(get("/api/v1/admin/localization-data/").param("locale", "not_a_locale"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testPutLocalizationDataSuccess() throws Exception {
 
@@ -5,12 +5,17 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.nuvalence.auth.access.AuthorizationHandler;
+import io.nuvalence.platform.notification.service.generated.models.BulkMessageRequestModel;
+import io.nuvalence.platform.notification.service.generated.models.CampaignRequestModel;
+import io.nuvalence.platform.notification.service.generated.models.CampaignResponseModel;
 import io.nuvalence.platform.notification.service.generated.models.EmailFormatModel;
 import io.nuvalence.platform.notification.service.generated.models.EmailLayoutRequestModel;
 import io.nuvalence.platform.notification.service.generated.models.LocalizedTemplateModel;
@@ -27,12 +32,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -145,6 +152,119 @@ class SendNotificationApiDelegateImplTest {
                 .andReturn();
     }
 
+    @Test
+    void testSendMessages() throws Exception {
+        String templateKey = RandomStringUtils.randomAlphanumeric(10);
+        createMessageTemplate(templateKey);
+        Map<String, String> messageParameters =
+                Map.of(
+                        "parameter1", "2023-01-01",
+                        "parameter2", "Mr Bean",
+                        "parameter3", "45",
+                        "parameter4", "2023-07-06T15:30:00");
+        BulkMessageRequestModel bulkRequest =
+                new BulkMessageRequestModel(
+                        List.of(
+                                new MessageRequestModel(
+                                        UUID.randomUUID(), templateKey, messageParameters),
+                                new MessageRequestModel(
+                                        UUID.randomUUID(),
+                                        RandomStringUtils.randomAlphanumeric(10),
+                                        messageParameters),
+                                new MessageRequestModel(
+                                        UUID.randomUUID(), templateKey, messageParameters)));
+
+        mockMvc.perform(
+                        MockMvcRequestBuilders.post("/api/v1/messages/bulk")
+                                .content(objectMapper.writeValueAsString(bulkRequest))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(2)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.results[0].index", is(0)))
+                .andExpect(jsonPath("$.results[0].id", is(notNullValue())))
+                .andExpect(jsonPath("$.results[1].index", is(1)))
+                .andExpect(jsonPath("$.results[1].error", is("Template not found")))
+                .andExpect(jsonPath("$.results[2].id", is(notNullValue())));
+    }
+
+    @Test
+    void testSendMessages_empty() throws Exception {
+        BulkMessageRequestModel bulkRequest = new BulkMessageRequestModel(List.of());
+
+        mockMvc.perform(
+                        MockMvcRequestBuilders.post("/api/v1/messages/bulk")
+                                .content(objectMapper.writeValueAsString(bulkRequest))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCampaign() throws Exception {
+        String templateKey = RandomStringUtils.randomAlphanumeric(10);
+        createMessageTemplate(templateKey);
+        Map<String, String> campaignParameters =
+                Map.of(
+                        "parameter1", "2023-01-01",
+                        "parameter2", "Mr Bean",
+                        "parameter3", "45",
+                        "parameter4", "2023-07-06T15:30:00");
+        CampaignRequestModel campaignRequest =
+                new CampaignRequestModel(templateKey, campaignParameters)
+                        .recipients(List.of(UUID.randomUUID()));
+
+        MvcResult result =
+                mockMvc.perform(
+                                MockMvcRequestBuilders.post("/api/v1/campaigns")
+                                        .content(objectMapper.writeValueAsString(campaignRequest))
+                                        .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.status", is("CREATED")))
+                        .andExpect(jsonPath("$.totalRecipients", is(1)))
+                        .andReturn();
+        CampaignResponseModel campaign =
+                objectMapper.readValue(
+                        result.getResponse().getContentAsString(), CampaignResponseModel.class);
+
+        MockMultipartFile recipients =
+                new MockMultipartFile(
+                        "file",
+                        "recipients.txt",
+                        "text/plain",
+                        (UUID.randomUUID() + "\n" + UUID.randomUUID())
+                                .getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(
+                        multipart("/api/v1/campaigns/{id}/recipients", campaign.getId())
+                                .file(recipients))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRecipients", is(3)));
+
+        mockMvc.perform(post("/api/v1/campaigns/{id}/start", campaign.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("RUNNING")));
+
+        mockMvc.perform(get("/api/v1/campaigns/{id}", campaign.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.templateKey", is(templateKey)))
+                .andExpect(jsonPath("$.totalRecipients", is(3)))
+                .andExpect(jsonPath("$.startedTimestamp", is(notNullValue())));
+
+        mockMvc.perform(post("/api/v1/campaigns/{id}/start", campaign.getId()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCampaign_template_not_found() throws Exception {
+        CampaignRequestModel campaignRequest =
+                new CampaignRequestModel(RandomStringUtils.randomAlphanumeric(10), Map.of());
+
+        mockMvc.perform(
+                        MockMvcRequestBuilders.post("/api/v1/campaigns")
+                                .content(objectMapper.writeValueAsString(campaignRequest))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testGetMessageById() throws Exception {
         String templateKey = RandomStringUtils.randomAlphanumeric(10);
@@ -0,0 +1,53 @@
+package io.nuvalence.platform.notification.service.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Checks the plans of the hot lookup queries use their indexes. Runs on H2, so the Postgres-only
+ * trigram indexes for name searches are not covered.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LookupIndexTest {
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void latestTemplateByKey_UsesKeyVersionIndex() {
+        assertPlanUses(
+                "SELECT * FROM message_template WHERE \"key\" = 'key' ORDER BY version DESC"
+                        + " LIMIT 1",
+                "idx_message_template_key_version");
+    }
+
+    @Test
+    void latestEmailLayoutByKey_UsesKeyVersionIndex() {
+        assertPlanUses(
+                "SELECT * FROM email_layout WHERE \"key\" = 'key' ORDER BY version DESC LIMIT 1",
+                "idx_email_layout_key_version");
+    }
+
+    @Test
+    void messagesByStatus_UseStatusRequestedTimestampIndex() {
+        assertPlanUses(
+                "SELECT * FROM message WHERE status = 'QUEUED'"
+                        + " AND requested_timestamp < CURRENT_TIMESTAMP",
+                "idx_message_status_requested_timestamp");
+    }
+
+    @Test
+    void messagesByUser_UseUserIdIndex() {
+        assertPlanUses("SELECT * FROM message WHERE user_id = 'user'", "idx_message_user_id");
+    }
+
+    private void assertPlanUses(String query, String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query, String.class);
+        assertTrue(plan.contains(index), "expected " + index + " in plan: " + plan);
+    }
+}
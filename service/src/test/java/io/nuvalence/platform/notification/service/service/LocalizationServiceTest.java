@@ -1,8 +1,13 @@
 package io.nuvalence.platform.notification.service.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import io.nuvalence.platform.notification.service.domain.MessageTemplate;
 import io.nuvalence.platform.notification.service.exception.BadDataException;
 import io.nuvalence.platform.notification.service.repository.MessageTemplateRepository;
 import org.junit.jupiter.api.BeforeAll;
@@ -10,6 +15,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @ExtendWith(MockitoExtension.class)
 class LocalizationServiceTest {
@@ -23,7 +37,8 @@ class LocalizationServiceTest {
     @BeforeEach
     void setUp() {
         templateRepository = mock(MessageTemplateRepository.class);
-        service = new LocalizationService(templateRepository);
+        service =
+                new LocalizationService(templateRepository, mock(PlatformTransactionManager.class));
     }
 
     @Test
@@ -37,4 +52,32 @@ class LocalizationServiceTest {
         assertThrows(BadDataException.class, () -> service.validateLocaleTag(""));
         assertThrows(BadDataException.class, () -> service.validateLocaleTag(null));
     }
+
+    @Test
+    void writeLocalizationData_ReadsEachPageAfterTheLastTemplateWritten() throws Exception {
+        ReflectionTestUtils.setField(service, "defaultLocale", "en");
+        ReflectionTestUtils.setField(service, "exportPageSize", 2);
+        when(templateRepository.findByOrderByKeyAscVersionAsc(any(Pageable.class)))
+                .thenReturn(List.of(template("a", 1), template("b", 1)));
+        when(templateRepository.findPageAfter(eq("b"), eq(1), any(Pageable.class)))
+                .thenReturn(List.of(template("c", 1), template("d", 3)));
+        when(templateRepository.findPageAfter(eq("d"), eq(3), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.writeLocalizationData("es", output);
+
+        String xliff = output.toString(StandardCharsets.UTF_8);
+        assertEquals(
+                List.of("a", "b", "c", "d"),
+                Pattern.compile("<group id=\"([a-z])\"")
+                        .matcher(xliff)
+                        .results()
+                        .map(match -> match.group(1))
+                        .collect(Collectors.toList()));
+    }
+
+    private static MessageTemplate template(String key, int version) {
+        return MessageTemplate.builder().key(key).version(version).build();
+    }
 }
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
 import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplate;
+import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplateIndex;
 import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplateLanguage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -48,7 +49,7 @@ class MessageBuilderUtilsTest {
         when(localizedStringTemplate.getLocalizedTemplateStrings())
                 .thenReturn(List.of(spanishSpain, englishUs));
         Optional<LocalizedStringTemplateLanguage> result =
-                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, "en-US");
+                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, "en-US", null);
 
         assertTrue(result.isPresent());
         assertEquals(englishUs, result.get());
@@ -59,7 +60,7 @@ class MessageBuilderUtilsTest {
         when(localizedStringTemplate.getLocalizedTemplateStrings())
                 .thenReturn(List.of(englishUs, spanishSpain));
         Optional<LocalizedStringTemplateLanguage> result =
-                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, "en");
+                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, "en", null);
 
         assertTrue(result.isPresent());
         assertEquals(englishUs, result.get());
@@ -70,7 +71,7 @@ class MessageBuilderUtilsTest {
         when(localizedStringTemplate.getLocalizedTemplateStrings())
                 .thenReturn(List.of(englishPlain, spanishPlain));
         Optional<LocalizedStringTemplateLanguage> result =
-                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, "en-US");
+                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, "en-US", null);
 
         assertTrue(result.isPresent());
         assertEquals(englishPlain, result.get());
@@ -81,8 +82,76 @@ class MessageBuilderUtilsTest {
         when(localizedStringTemplate.getLocalizedTemplateStrings())
                 .thenReturn(List.of(englishPlain, spanishPlain));
         Optional<LocalizedStringTemplateLanguage> result =
-                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, "fr-FR");
+                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, "fr-FR", null);
 
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    void getLocalizedTemplateTest_TruncatesTagDownToPrimaryLanguage() {
+        LocalizedStringTemplateLanguage chineseTraditional = new LocalizedStringTemplateLanguage();
+        chineseTraditional.setLanguage("zh-Hant");
+        when(localizedStringTemplate.getLocalizedTemplateStrings())
+                .thenReturn(List.of(englishPlain, spanishSpain, spanishPlain, chineseTraditional));
+
+        assertEquals(
+                spanishPlain,
+                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, "es-419", null)
+                        .orElseThrow());
+        assertEquals(
+                chineseTraditional,
+                MessageBuilderUtils.getLocalizedTemplate(
+                                localizedStringTemplate, "zh-hant-TW", null)
+                        .orElseThrow());
+        assertEquals(
+                chineseTraditional,
+                MessageBuilderUtils.getLocalizedTemplate(
+                                localizedStringTemplate, "zh-Hant-x-private", null)
+                        .orElseThrow());
+    }
+
+    @Test
+    void getLocalizedTemplateTest_FallsBackToDefaultLocale() {
+        when(localizedStringTemplate.getLanguageIndex())
+                .thenReturn(
+                        LocalizedStringTemplateIndex.of(List.of(spanishPlain, englishUs), "en-GB"));
+
+        assertEquals(
+                spanishPlain,
+                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, "es-419", null)
+                        .orElseThrow());
+        assertEquals(
+                englishUs,
+                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, "fr-FR", null)
+                        .orElseThrow());
+        assertEquals(
+                englishUs,
+                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, null, null)
+                        .orElseThrow());
+    }
+
+    @Test
+    void getLocalizedTemplateTest_DefaultLocaleNotTranslated() {
+        when(localizedStringTemplate.getLanguageIndex())
+                .thenReturn(LocalizedStringTemplateIndex.of(List.of(spanishPlain), "en"));
+
+        assertTrue(
+                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, "fr-FR", null)
+                        .isEmpty());
+    }
+
+    @Test
+    void getLocalizedTemplateTest_FallsBackToDefaultLocaleWithoutPrebuiltIndex() {
+        when(localizedStringTemplate.getLocalizedTemplateStrings())
+                .thenReturn(List.of(spanishPlain, englishUs));
+
+        assertEquals(
+                englishUs,
+                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, "fr-FR", "en-GB")
+                        .orElseThrow());
+        assertEquals(
+                englishUs,
+                MessageBuilderUtils.getLocalizedTemplate(localizedStringTemplate, null, "en-GB")
+                        .orElseThrow());
+    }
 }
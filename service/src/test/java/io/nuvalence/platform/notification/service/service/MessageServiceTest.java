@@ -1,7 +1,9 @@
 package io.nuvalence.platform.notification.service.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.nuvalence.platform.notification.service.domain.EmailFormat;
 import io.nuvalence.platform.notification.service.domain.EmailFormatContent;
@@ -9,15 +11,18 @@ import io.nuvalence.platform.notification.service.domain.EmailLayout;
 import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplate;
 import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplateLanguage;
 import io.nuvalence.platform.notification.service.domain.Message;
+import io.nuvalence.platform.notification.service.domain.MessageOutboxEntry;
 import io.nuvalence.platform.notification.service.domain.MessageTemplate;
 import io.nuvalence.platform.notification.service.domain.SmsFormat;
+import io.nuvalence.platform.notification.service.model.MessageSaveResult;
+import io.nuvalence.platform.notification.service.repository.MessageOutboxRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
-import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.ArrayList;
@@ -25,6 +30,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import javax.persistence.EntityManagerFactory;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -34,7 +43,8 @@ class MessageServiceTest {
     @Autowired private EmailLayoutService emailLayoutService;
     @Autowired private TemplateService templateService;
     @Autowired private MessageService service;
-    @MockBean private PubSubService mockPubSubService;
+    @Autowired private MessageOutboxRepository outboxRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
 
     private MessageTemplate createdTemplate;
 
@@ -182,6 +192,82 @@ class MessageServiceTest {
         assertNotNull(savedMessage.getId());
         assertNotNull(savedMessage.getRequestedTimestamp());
 
-        Mockito.verify(mockPubSubService).publish(any());
+        List<MessageOutboxEntry> queued =
+                StreamSupport.stream(outboxRepository.findAll().spliterator(), false)
+                        .filter(entry -> entry.getMessageId().equals(savedMessage.getId()))
+                        .collect(Collectors.toList());
+        assertEquals(1, queued.size());
+        assertEquals(0, queued.get(0).getAttempts());
+    }
+
+    @Test
+    void testSaveAll() {
+        Message valid = new Message();
+        valid.setUserId(UUID.randomUUID().toString());
+        valid.setMessageTemplateKey(createdTemplate.getKey());
+        valid.setParameters(
+                Map.of(
+                        "parameter-key-1",
+                        "parameter-value-1",
+                        "parameter-key-2",
+                        "parameter-value-2"));
+
+        Message missingParameter = new Message();
+        missingParameter.setUserId(UUID.randomUUID().toString());
+        missingParameter.setMessageTemplateKey(createdTemplate.getKey());
+        missingParameter.setParameters(Map.of("parameter-key-1", "parameter-value-1"));
+
+        List<MessageSaveResult> results = service.saveAll(List.of(valid, missingParameter));
+        assertEquals(2, results.size());
+
+        assertTrue(results.get(0).isAccepted());
+        assertEquals(0, results.get(0).getIndex());
+        assertNotNull(results.get(0).getMessage().getId());
+        assertEquals("QUEUED", results.get(0).getMessage().getStatus());
+
+        assertFalse(results.get(1).isAccepted());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals("Parameter not found in template", results.get(1).getError());
+
+        List<UUID> queuedIds =
+                StreamSupport.stream(outboxRepository.findAll().spliterator(), false)
+                        .map(MessageOutboxEntry::getMessageId)
+                        .collect(Collectors.toList());
+        assertTrue(queuedIds.contains(results.get(0).getMessage().getId()));
+    }
+
+    @Test
+    void testSaveAll_BatchesInserts() {
+        final int count = 100;
+        List<Message> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Message message = new Message();
+            message.setUserId(UUID.randomUUID().toString());
+            message.setMessageTemplateKey(createdTemplate.getKey());
+            message.setParameters(
+                    Map.of(
+                            "parameter-key-1",
+                            "parameter-value-1",
+                            "parameter-key-2",
+                            "parameter-value-2"));
+            messages.add(message);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            service.saveAll(messages);
+
+            // one message, with its parameters, and one outbox entry per message, in batches
+            assertEquals(2L * count, statistics.getEntityInsertCount());
+            assertTrue(
+                    statistics.getPrepareStatementCount() < count,
+                    "inserts were not batched: "
+                            + statistics.getPrepareStatementCount()
+                            + " statements prepared");
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
     }
 }
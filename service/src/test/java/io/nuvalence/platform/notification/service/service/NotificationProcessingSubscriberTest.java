@@ -1,6 +1,9 @@
 package io.nuvalence.platform.notification.service.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -18,6 +21,7 @@ import com.sendgrid.Response;
 import com.sendgrid.SendGrid;
 import com.twilio.rest.api.v2010.account.MessageCreator;
 import com.twilio.type.PhoneNumber;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.nuvalence.platform.notification.service.domain.EmailFormat;
 import io.nuvalence.platform.notification.service.domain.EmailFormatContent;
 import io.nuvalence.platform.notification.service.domain.EmailLayout;
@@ -25,6 +29,8 @@ import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplate
 import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplateLanguage;
 import io.nuvalence.platform.notification.service.domain.MessageTemplate;
 import io.nuvalence.platform.notification.service.domain.SmsFormat;
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
+import io.nuvalence.platform.notification.service.service.status.MessageStatusUpdater;
 import io.nuvalence.platform.notification.service.service.usermanagementapi.UserManagementClientService;
 import io.nuvalence.platform.notification.usermanagent.client.ApiException;
 import io.nuvalence.platform.notification.usermanagent.client.generated.models.UserDTO;
@@ -45,9 +51,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -69,8 +78,11 @@ class NotificationProcessingSubscriberTest {
 
     @Autowired private MessageService messageService;
 
+    @Autowired private MeterRegistry meterRegistry;
+
     @Autowired
-    @Qualifier("messageReceiverNotificationProcessing") private NotificationProcessingSubscriber service;
+    @Qualifier("messageReceiverNotificationProcessing")
+    private NotificationProcessingSubscriber service;
 
     @MockBean private UserManagementClientService userManagementClientService;
 
@@ -351,6 +363,8 @@ class NotificationProcessingSubscriberTest {
                 .thenReturn(createUser(userId, "en_US", "sms", false));
 
         MessageCreator messageCreator = mock(MessageCreator.class);
+        Mockito.when(messageCreator.create())
+                .thenReturn(mock(com.twilio.rest.api.v2010.account.Message.class));
 
         try (MockedStatic<com.twilio.rest.api.v2010.account.Message> messageMock =
                 mockStatic(com.twilio.rest.api.v2010.account.Message.class)) {
@@ -392,6 +406,68 @@ class NotificationProcessingSubscriberTest {
         Mockito.verify(ack).ack();
     }
 
+    @Test
+    void handleMessage_SendsOutsideOfATransaction() throws IOException, ApiException {
+        UUID userId = UUID.randomUUID();
+        BasicAcknowledgeablePubsubMessage ack =
+                Mockito.mock(BasicAcknowledgeablePubsubMessage.class);
+        Message<?> message =
+                MessageBuilder.withPayload(generateJsonMessage(userId))
+                        .setHeader(GcpPubSubHeaders.ORIGINAL_MESSAGE, ack)
+                        .build();
+        Mockito.when(userManagementClientService.getUser(any()))
+                .thenReturn(createUser(userId, "en", "email", false));
+
+        Mockito.when(sendGrid.api(any()))
+                .thenAnswer(
+                        invocation -> {
+                            assertFalse(
+                                    TransactionSynchronizationManager.isActualTransactionActive());
+                            return new Response();
+                        });
+
+        service.handleMessage(message);
+
+        Mockito.verify(ack).ack();
+        assertNotNull(meterRegistry.find("hikaricp.connections.usage").timer());
+        assertNotNull(
+                meterRegistry
+                        .find("notification.delivery.latency")
+                        .tags("channel", "email", "template", createdTemplate.getKey())
+                        .timer());
+        assertNotNull(meterRegistry.find("notification.render").tag("channel", "email").timer());
+        assertNotNull(meterRegistry.find("notification.processing").tag("outcome", "sent").timer());
+    }
+
+    @Test
+    void handleMessage_AcknowledgesASentMessageWhoseStatusCannotBeRecorded()
+            throws IOException, ApiException {
+        MessageStatusUpdater statusUpdater = mock(MessageStatusUpdater.class);
+        SendMessageService sendMessageService = mock(SendMessageService.class);
+        Mockito.when(sendMessageService.sendMessage(any()))
+                .thenReturn(
+                        new ProviderResponse(
+                                "provider-id", OffsetDateTime.now(), Duration.ofMillis(5)));
+        Mockito.doThrow(new IllegalStateException("status not recorded"))
+                .when(statusUpdater)
+                .update(any(), anyString(), any(ProviderResponse.class));
+        NotificationProcessingSubscriber subscriber =
+                new NotificationProcessingSubscriber(
+                        objectMapper, statusUpdater, sendMessageService, meterRegistry);
+        BasicAcknowledgeablePubsubMessage ack =
+                Mockito.mock(BasicAcknowledgeablePubsubMessage.class);
+        Message<?> message =
+                MessageBuilder.withPayload(generateJsonMessage(UUID.randomUUID()))
+                        .setHeader(GcpPubSubHeaders.ORIGINAL_MESSAGE, ack)
+                        .build();
+
+        assertThrows(IllegalStateException.class, () -> subscriber.handleMessage(message));
+
+        Mockito.verify(ack).ack();
+        Mockito.verify(ack, Mockito.never()).nack();
+        Mockito.verify(statusUpdater, Mockito.never()).recordFailedAttempt(any());
+    }
+
     @Test
     void messageHandling_UserNotFound() throws IOException, ApiException {
         UUID userId = UUID.randomUUID();
@@ -509,7 +585,8 @@ class NotificationProcessingSubscriberTest {
     }
 
     @Test
-    void messageHandling_EmailSubjectNotFound() throws IOException, ApiException {
+    void messageHandling_EmailNotTranslatedFallsBackToDefaultLocale()
+            throws IOException, ApiException {
         UUID userId = UUID.randomUUID();
         BasicAcknowledgeablePubsubMessage ack =
                 Mockito.mock(BasicAcknowledgeablePubsubMessage.class);
@@ -520,21 +597,20 @@ class NotificationProcessingSubscriberTest {
 
         Mockito.when(userManagementClientService.getUser(any()))
                 .thenReturn(createUser(userId, "fr", "email", false));
+        Mockito.when(sendGrid.api(any())).thenReturn(new Response());
 
         service.handleMessage(message);
-        assertEquals(1, emailMessageProviderLogWatcher.list.size());
-        ILoggingEvent logEvent = emailMessageProviderLogWatcher.list.get(0);
-        assertEquals(
-                String.format(
-                        "Could not send %s email to user %s, subject template not found",
-                        createdTemplate.getKey(), userId),
-                logEvent.getMessage());
+        assertEquals(0, emailMessageProviderLogWatcher.list.size());
+        assertEquals(1, sendGridLogWatcher.list.size());
+        ILoggingEvent logEvent = sendGridLogWatcher.list.get(0);
+        assertEquals("Email sent to {} with status code {}", logEvent.getMessage());
 
         Mockito.verify(ack).ack();
     }
 
     @Test
-    void messageHandling_EmailContentNotFound() throws IOException, ApiException {
+    void messageHandling_EmailPartiallyTranslatedFallsBackToDefaultLocale()
+            throws IOException, ApiException {
         UUID userId = UUID.randomUUID();
         BasicAcknowledgeablePubsubMessage ack =
                 Mockito.mock(BasicAcknowledgeablePubsubMessage.class);
@@ -545,15 +621,13 @@ class NotificationProcessingSubscriberTest {
 
         Mockito.when(userManagementClientService.getUser(any()))
                 .thenReturn(createUser(userId, "it", "email", false));
+        Mockito.when(sendGrid.api(any())).thenReturn(new Response());
 
         service.handleMessage(message);
-        assertEquals(1, emailMessageProviderLogWatcher.list.size());
-        ILoggingEvent logEvent = emailMessageProviderLogWatcher.list.get(0);
-        assertEquals(
-                String.format(
-                        "Could not send %s email to user %s, subject template not found",
-                        createdTemplate.getKey(), userId),
-                logEvent.getMessage());
+        assertEquals(0, emailMessageProviderLogWatcher.list.size());
+        assertEquals(1, sendGridLogWatcher.list.size());
+        ILoggingEvent logEvent = sendGridLogWatcher.list.get(0);
+        assertEquals("Email sent to {} with status code {}", logEvent.getMessage());
 
         Mockito.verify(ack).ack();
     }
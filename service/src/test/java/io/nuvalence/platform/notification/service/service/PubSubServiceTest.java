@@ -1,5 +1,7 @@
 package io.nuvalence.platform.notification.service.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,6 +13,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.annotation.AsyncResult;
+import org.springframework.util.concurrent.ListenableFuture;
 
 import java.io.IOException;
 import java.time.OffsetDateTime;
@@ -21,18 +25,18 @@ import java.util.UUID;
 @SuppressWarnings("PMD.BeanMembersShouldSerialize")
 class PubSubServiceTest {
 
-    @Mock private PubSubOutboundConfig.PubSubOutboundGateway messagingGateway;
+    @Mock private PubSubOutboundConfig.MessagePublisher messagePublisher;
     @Mock private ObjectMapper mockMapper;
 
     private PubSubService service;
 
     @BeforeEach
     public void beforeEach() {
-        service = new PubSubService(messagingGateway, mockMapper);
+        service = new PubSubService(messagePublisher, mockMapper);
     }
 
     @Test
-    void testPublish() throws IOException {
+    void testSerialize() throws IOException {
         Message message = new Message();
         message.setId(UUID.randomUUID());
         message.setUserId(UUID.randomUUID().toString());
@@ -44,8 +48,14 @@ class PubSubServiceTest {
         Mockito.when(mockMapper.writeValueAsString(any(Message.class)))
                 .thenReturn("serialized-string");
 
-        service.publish(message);
+        assertEquals("serialized-string", service.serialize(message));
+    }
+
+    @Test
+    void testPublish() {
+        ListenableFuture<String> result = AsyncResult.forValue("message-id");
+        Mockito.when(messagePublisher.publish("serialized-string")).thenReturn(result);
 
-        Mockito.verify(messagingGateway).publish(any());
+        assertSame(result, service.publish("serialized-string"));
     }
 }
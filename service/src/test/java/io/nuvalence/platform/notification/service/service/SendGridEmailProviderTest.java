@@ -9,7 +9,10 @@ import static org.mockito.Mockito.when;
 import com.sendgrid.Request;
 import com.sendgrid.Response;
 import com.sendgrid.SendGrid;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.nuvalence.platform.notification.service.exception.UnprocessableNotificationException;
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkhead;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +20,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
 
 @ExtendWith(MockitoExtension.class)
 class SendGridEmailProviderTest {
@@ -25,6 +30,8 @@ class SendGridEmailProviderTest {
 
     @Mock private Response response;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private SendGridEmailProvider emailProvider;
 
     private String to = "test@example.com";
@@ -35,15 +42,23 @@ class SendGridEmailProviderTest {
 
     @BeforeEach
     void setUp() throws IOException {
-        emailProvider = new SendGridEmailProvider(sendGrid);
+        meterRegistry = new SimpleMeterRegistry();
+        emailProvider =
+                new SendGridEmailProvider(
+                        sendGrid,
+                        new Bulkhead("sendGrid", 1, Duration.ofSeconds(1)),
+                        meterRegistry);
     }
 
     @Test
     void testSendEmail() throws IOException {
         when(sendGrid.api(any(Request.class))).thenReturn(response);
-        emailProvider.sendEmail(to, subject, body);
+        when(response.getHeaders()).thenReturn(Map.of("X-Message-Id", "message-id"));
+        ProviderResponse providerResponse = emailProvider.sendEmail(to, subject, body);
 
         verify(sendGrid).api(any(Request.class));
+        assertEquals("message-id", providerResponse.getProviderMessageId());
+        assertEquals(1, providerCalls("success"));
     }
 
     @Test
@@ -56,6 +71,7 @@ class SendGridEmailProviderTest {
                         UnprocessableNotificationException.class,
                         () -> emailProvider.sendEmail(to, subject, body));
 
+        assertEquals(1, providerCalls("unprocessable"));
         assertEquals(
                 String.format(
                         "Bad request response obtained from SendGrid with code %d, could not send"
@@ -72,6 +88,7 @@ class SendGridEmailProviderTest {
         IOException actualException =
                 assertThrows(IOException.class, () -> emailProvider.sendEmail(to, subject, body));
         assertEquals(expectedException, actualException);
+        assertEquals(1, providerCalls("retry"));
     }
 
     @Test
@@ -84,4 +101,12 @@ class SendGridEmailProviderTest {
                         RuntimeException.class, () -> emailProvider.sendEmail(to, subject, body));
         assertEquals(expectedException, actualException);
     }
+
+    private long providerCalls(String outcome) {
+        return meterRegistry
+                .get("notification.provider.send")
+                .tags("provider", "sendgrid", "outcome", outcome)
+                .timer()
+                .count();
+    }
 }
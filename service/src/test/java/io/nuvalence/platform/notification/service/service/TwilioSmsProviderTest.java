@@ -7,18 +7,24 @@ import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
 
 import com.twilio.exception.ApiConnectionException;
 import com.twilio.exception.ApiException;
 import com.twilio.rest.api.v2010.account.Message;
 import com.twilio.rest.api.v2010.account.MessageCreator;
 import com.twilio.type.PhoneNumber;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkhead;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 
+import java.time.Duration;
+
 class TwilioSmsProviderTest {
 
     private final MessageCreator messageCreator = mock(MessageCreator.class);
@@ -28,7 +34,10 @@ class TwilioSmsProviderTest {
 
     @BeforeEach
     public void setUp() {
-        smsProvider = new TwilioSmsProvider();
+        smsProvider =
+                new TwilioSmsProvider(
+                        new Bulkhead("twilio", 1, Duration.ofSeconds(1)),
+                        new SimpleMeterRegistry());
         smsProvider.setTwilioPhoneNumber(twilioPhoneNumber);
     }
 
@@ -38,6 +47,7 @@ class TwilioSmsProviderTest {
         String calledToNumber;
         String calledFromNumber;
         String calledMessage;
+        ProviderResponse response;
 
         try (MockedStatic<Message> messageMock = mockStatic(Message.class)) {
             messageMock
@@ -48,8 +58,11 @@ class TwilioSmsProviderTest {
                                             any(PhoneNumber.class),
                                             anyString()))
                     .thenReturn(messageCreator);
+            Message created = mock(Message.class);
+            when(created.getSid()).thenReturn("SM123");
+            when(messageCreator.create()).thenReturn(created);
 
-            smsProvider.sendSms("to_number", "test_message");
+            response = smsProvider.sendSms("to_number", "test_message");
 
             ArgumentCaptor<PhoneNumber> toNumberCaptor = ArgumentCaptor.forClass(PhoneNumber.class);
             ArgumentCaptor<PhoneNumber> fromNumberCaptor =
@@ -71,6 +84,8 @@ class TwilioSmsProviderTest {
         Assertions.assertEquals("to_number", calledToNumber);
         Assertions.assertEquals(twilioPhoneNumber, calledFromNumber);
         Assertions.assertEquals("test_message", calledMessage);
+        Assertions.assertEquals("SM123", response.getProviderMessageId());
+        Assertions.assertNotNull(response.getSentTimestamp());
     }
 
     @Test
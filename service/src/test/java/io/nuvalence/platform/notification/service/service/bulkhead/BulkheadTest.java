@@ -0,0 +1,101 @@
+package io.nuvalence.platform.notification.service.service.bulkhead;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.nuvalence.platform.notification.service.exception.BulkheadFullException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class BulkheadTest {
+
+    @Test
+    void call_ReturnsResultAndReleasesPermit() {
+        Bulkhead bulkhead = new Bulkhead("test", 2, Duration.ofSeconds(1));
+
+        assertEquals("result", bulkhead.call(() -> "result"));
+        assertEquals(2, bulkhead.getAvailablePermits());
+    }
+
+    @Test
+    void call_ReleasesPermitWhenCallFails() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofSeconds(1));
+
+        assertThrows(
+                IOException.class,
+                () ->
+                        bulkhead.run(
+                                () -> {
+                                    throw new IOException("failed");
+                                }));
+        assertEquals(1, bulkhead.getAvailablePermits());
+    }
+
+    @Test
+    void call_FailsWhenNoPermitBecomesAvailable() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> holder =
+                    executor.submit(
+                            () ->
+                                    bulkhead.call(
+                                            () -> {
+                                                started.countDown();
+                                                return release.await(5, TimeUnit.SECONDS);
+                                            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> "result"));
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+            assertEquals("result", bulkhead.call(() -> "result"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void call_BoundsConcurrentCalls() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 3, Duration.ofSeconds(5));
+        AtomicInteger inProgress = new AtomicInteger();
+        AtomicInteger maxInProgress = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            for (int i = 0; i < 50; i++) {
+                executor.submit(
+                        () ->
+                                bulkhead.call(
+                                        () -> {
+                                            maxInProgress.accumulateAndGet(
+                                                    inProgress.incrementAndGet(), Math::max);
+                                            Thread.sleep(2);
+                                            return inProgress.decrementAndGet();
+                                        }));
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(3, maxInProgress.get());
+    }
+
+    @Test
+    void constructor_RejectsBulkheadWithoutPermits() {
+        assertThrows(IllegalArgumentException.class, () -> new Bulkhead("test", 0, Duration.ZERO));
+    }
+}
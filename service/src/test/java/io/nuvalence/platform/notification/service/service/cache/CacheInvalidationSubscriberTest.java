@@ -0,0 +1,77 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.spring.pubsub.support.BasicAcknowledgeablePubsubMessage;
+import com.google.cloud.spring.pubsub.support.GcpPubSubHeaders;
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent.ResourceType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationSubscriberTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Mock private CacheInvalidationBroadcaster broadcaster;
+
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @Mock private BasicAcknowledgeablePubsubMessage originalMessage;
+
+    private CacheInvalidationSubscriber subscriber;
+
+    @BeforeEach
+    void setUp() {
+        when(broadcaster.getInstanceId()).thenReturn("this-instance");
+        subscriber = new CacheInvalidationSubscriber(mapper, broadcaster, eventPublisher);
+    }
+
+    @Test
+    void handleMessage_RepublishesChangesFromOtherInstances() throws Exception {
+        subscriber.handleMessage(
+                message(
+                        new CacheInvalidationMessage(
+                                "other-instance", ResourceType.EMAIL_LAYOUT, "layout")));
+
+        ArgumentCaptor<TemplateCacheInvalidationEvent> captor =
+                ArgumentCaptor.forClass(TemplateCacheInvalidationEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(
+                new TemplateCacheInvalidationEvent(ResourceType.EMAIL_LAYOUT, "layout", true),
+                captor.getValue());
+        verify(originalMessage).ack();
+    }
+
+    @Test
+    void handleMessage_SkipsOwnChanges() throws Exception {
+        subscriber.handleMessage(
+                message(
+                        new CacheInvalidationMessage(
+                                "this-instance", ResourceType.MESSAGE_TEMPLATE, "key")));
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(originalMessage).ack();
+    }
+
+    private Message<byte[]> message(CacheInvalidationMessage invalidation) throws Exception {
+        return MessageBuilder.withPayload(
+                        mapper.writeValueAsString(invalidation).getBytes(StandardCharsets.UTF_8))
+                .setHeader(GcpPubSubHeaders.ORIGINAL_MESSAGE, originalMessage)
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.github.jknack.handlebars.Template;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.nuvalence.platform.notification.service.service.MessageBuilderUtils;
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent.ResourceType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class CompiledTemplateCacheTest {
+
+    private CompiledTemplateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CompiledTemplateCache(10, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_CompilesOncePerKey() {
+        CompiledTemplateKey key = templateKey("key", 1, "en");
+
+        Template first = cache.get(key, "Hello {{name}}");
+        Template second = cache.get(key, "Hello {{name}}");
+
+        assertSame(first, second);
+        assertEquals(
+                "Hello John", MessageBuilderUtils.applyTemplate(first, Map.of("name", "John")));
+    }
+
+    @Test
+    void get_DifferentVersionOrLanguageCompilesSeparately() {
+        Template english = cache.get(templateKey("key", 1, "en"), "Hello {{name}}");
+        Template spanish = cache.get(templateKey("key", 1, "es"), "Hola {{name}}");
+        Template nextVersion = cache.get(templateKey("key", 2, "en"), "Hi {{name}}");
+
+        assertEquals(
+                "Hola Juan", MessageBuilderUtils.applyTemplate(spanish, Map.of("name", "Juan")));
+        assertEquals(
+                "Hi John", MessageBuilderUtils.applyTemplate(nextVersion, Map.of("name", "John")));
+        assertNotSame(english, nextVersion);
+    }
+
+    @Test
+    void onTemplateCacheInvalidation_DropsOnlyMatchingEntries() {
+        CompiledTemplateKey invalidated = templateKey("key", 1, "en");
+        CompiledTemplateKey other = templateKey("other", 1, "en");
+        CompiledTemplateKey layout =
+                new CompiledTemplateKey(ResourceType.EMAIL_LAYOUT, "key", 1, "layout", null);
+        final Template invalidatedTemplate = cache.get(invalidated, "Hello {{name}}");
+        final Template otherTemplate = cache.get(other, "Bye {{name}}");
+        final Template layoutTemplate = cache.get(layout, "<p>{{body}}</p>");
+
+        cache.onTemplateCacheInvalidation(
+                new TemplateCacheInvalidationEvent(ResourceType.MESSAGE_TEMPLATE, "key"));
+
+        assertNotSame(invalidatedTemplate, cache.get(invalidated, "Hello {{name}}"));
+        assertSame(otherTemplate, cache.get(other, "Bye {{name}}"));
+        assertSame(layoutTemplate, cache.get(layout, "<p>{{body}}</p>"));
+    }
+
+    private static CompiledTemplateKey templateKey(String key, int version, String language) {
+        return new CompiledTemplateKey(
+                ResourceType.MESSAGE_TEMPLATE, key, version, "subject", language);
+    }
+}
@@ -0,0 +1,84 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.jknack.handlebars.EscapingStrategy;
+import com.github.jknack.handlebars.Handlebars;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.nuvalence.platform.notification.service.exception.UnprocessableNotificationException;
+import io.nuvalence.platform.notification.service.service.MessageBuilderUtils;
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent.ResourceType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class EmailRenderPlanCacheTest {
+
+    private final Handlebars handlebars = new Handlebars();
+
+    private EmailRenderPlanCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EmailRenderPlanCache(10, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_CompilesOncePerKey() {
+        EmailRenderPlanKey key = new EmailRenderPlanKey("key", 1, "layout", 1, "en");
+
+        EmailRenderPlan first = cache.get(key, k -> plan());
+
+        assertSame(first, cache.get(key, k -> plan()));
+        assertNotSame(
+                first, cache.get(new EmailRenderPlanKey("key", 1, "layout", 1, "es"), k -> plan()));
+    }
+
+    @Test
+    void get_FailedCompilationIsNotCached() {
+        EmailRenderPlanKey key = new EmailRenderPlanKey("key", 1, "layout", 1, "fr");
+
+        assertThrows(
+                UnprocessableNotificationException.class,
+                () ->
+                        cache.get(
+                                key,
+                                k -> {
+                                    throw new UnprocessableNotificationException("not found");
+                                }));
+        EmailRenderPlan plan = cache.get(key, k -> plan());
+
+        assertSame(plan, cache.get(key, k -> plan()));
+    }
+
+    @Test
+    void onTemplateCacheInvalidation_DropsPlansOfTheTemplateOrLayout() {
+        EmailRenderPlanKey template = new EmailRenderPlanKey("key", 1, "layout", 1, "en");
+        EmailRenderPlanKey otherTemplate = new EmailRenderPlanKey("other", 1, "layout", 1, "en");
+        EmailRenderPlanKey otherLayout = new EmailRenderPlanKey("other", 1, "branded", 1, "en");
+        final EmailRenderPlan templatePlan = cache.get(template, k -> plan());
+        final EmailRenderPlan otherTemplatePlan = cache.get(otherTemplate, k -> plan());
+        final EmailRenderPlan otherLayoutPlan = cache.get(otherLayout, k -> plan());
+
+        cache.onTemplateCacheInvalidation(
+                new TemplateCacheInvalidationEvent(ResourceType.MESSAGE_TEMPLATE, "key"));
+        assertNotSame(templatePlan, cache.get(template, k -> plan()));
+        assertSame(otherTemplatePlan, cache.get(otherTemplate, k -> plan()));
+
+        cache.onTemplateCacheInvalidation(
+                new TemplateCacheInvalidationEvent(ResourceType.EMAIL_LAYOUT, "layout"));
+        assertNotSame(otherTemplatePlan, cache.get(otherTemplate, k -> plan()));
+        assertSame(otherLayoutPlan, cache.get(otherLayout, k -> plan()));
+    }
+
+    private EmailRenderPlan plan() {
+        return new EmailRenderPlan(
+                MessageBuilderUtils.compileTemplate("Subject", handlebars),
+                Map.of("body", MessageBuilderUtils.compileTemplate("Hi {{name}}", handlebars)),
+                MessageBuilderUtils.compileTemplate("<p>{{body}}</p>", handlebars),
+                EscapingStrategy.HTML_ENTITY);
+    }
+}
@@ -0,0 +1,97 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import io.nuvalence.platform.notification.service.service.MessageBuilderUtils;
+import io.nuvalence.platform.notification.service.service.cache.EmailRenderPlan.RenderedEmail;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class EmailRenderPlanTest {
+
+    private static final Map<String, String> PARAMETERS =
+            Map.of("name", "Tom & Jerry", "amount", "<b>125.50</b>");
+
+    private final Handlebars handlebars = new Handlebars();
+
+    @Test
+    void render_PreRendersLayoutOnlyOutputtingItsInputs() {
+        String layout =
+                "<html><title>{{greeting}}</title><body>{{greeting}}<p>{{body}}</p>{{footer}}"
+                        + "</body></html>";
+        EmailRenderPlan plan = plan(layout);
+
+        assertTrue(plan.isLayoutPreRendered());
+        assertRendersAsLayout(plan, layout);
+    }
+
+    @Test
+    void render_AppliesLayoutWithSectionsToEveryEmail() {
+        String layout = "{{#if footer}}<p>{{body}}</p>{{/if}}{{{greeting}}}";
+        EmailRenderPlan plan = plan(layout);
+
+        assertFalse(plan.isLayoutPreRendered());
+        assertRendersAsLayout(plan, layout);
+    }
+
+    @Test
+    void render_AppliesLayoutWithOtherVariablesToEveryEmail() {
+        String layout = "<p>{{body}}</p>{{signature}}";
+        EmailRenderPlan plan = plan(layout);
+
+        assertFalse(plan.isLayoutPreRendered());
+        assertRendersAsLayout(plan, layout);
+    }
+
+    @Test
+    void render_LayoutWithoutInputs() {
+        String layout = "<p>Static</p>";
+        EmailRenderPlan plan = plan(layout);
+
+        assertTrue(plan.isLayoutPreRendered());
+        assertEquals("<p>Static</p>", plan.render(PARAMETERS).getBody());
+    }
+
+    private EmailRenderPlan plan(String layout) {
+        Map<String, Template> contents = new LinkedHashMap<>();
+        contents.put("greeting", compile("Hi {{name}}"));
+        contents.put("body", compile("You owe {{amount}}"));
+        contents.put("footer", compile("Bye"));
+        return new EmailRenderPlan(
+                compile("Hello {{name}}"),
+                contents,
+                compile(layout),
+                handlebars.getEscapingStrategy());
+    }
+
+    private void assertRendersAsLayout(EmailRenderPlan plan, String layout) {
+        Map<String, String> layoutInputs = new HashMap<>();
+        layoutInputs.put(
+                "greeting",
+                MessageBuilderUtils.replaceParameterInTemplate(
+                        "Hi {{name}}", PARAMETERS, handlebars));
+        layoutInputs.put(
+                "body",
+                MessageBuilderUtils.replaceParameterInTemplate(
+                        "You owe {{amount}}", PARAMETERS, handlebars));
+        layoutInputs.put("footer", "Bye");
+
+        RenderedEmail email = plan.render(PARAMETERS);
+
+        assertEquals("Hello Tom &amp; Jerry", email.getSubject());
+        assertEquals(
+                MessageBuilderUtils.replaceParameterInTemplate(layout, layoutInputs, handlebars),
+                email.getBody());
+    }
+
+    private Template compile(String template) {
+        return MessageBuilderUtils.compileTemplate(template, handlebars);
+    }
+}
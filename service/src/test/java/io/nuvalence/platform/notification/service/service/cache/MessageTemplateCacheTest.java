@@ -0,0 +1,147 @@
+package io.nuvalence.platform.notification.service.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.nuvalence.platform.notification.service.domain.EmailFormat;
+import io.nuvalence.platform.notification.service.domain.EmailFormatContent;
+import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplate;
+import io.nuvalence.platform.notification.service.domain.LocalizedStringTemplateLanguage;
+import io.nuvalence.platform.notification.service.domain.MessageTemplate;
+import io.nuvalence.platform.notification.service.domain.SmsFormat;
+import io.nuvalence.platform.notification.service.service.cache.TemplateCacheInvalidationEvent.ResourceType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MessageTemplateCacheTest {
+
+    private MessageTemplateCache cache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache =
+                new MessageTemplateCache(
+                        10, Duration.ofMinutes(10), "en", new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_LoadsOncePerKey() {
+        MessageTemplate first = cache.get("key", this::load).orElseThrow();
+        MessageTemplate second = cache.get("key", this::load).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_MissingTemplateIsNotCached() {
+        assertTrue(cache.get("missing", key -> Optional.empty()).isEmpty());
+        assertTrue(cache.get("missing", this::load).isPresent());
+    }
+
+    @Test
+    void get_ReturnsReadOnlySnapshot() {
+        MessageTemplate snapshot = cache.get("key", this::load).orElseThrow();
+
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> snapshot.getParameters().put("other", "String"));
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> snapshot.getEmailFormat().getEmailFormatContents().clear());
+        assertThrows(
+                UnsupportedOperationException.class,
+                () ->
+                        snapshot.getSmsFormat()
+                                .getLocalizedStringTemplate()
+                                .getLocalizedTemplateStrings()
+                                .clear());
+        assertSame(snapshot, snapshot.getSmsFormat().getMessageTemplate());
+        assertSame(
+                snapshot.getEmailFormat(),
+                snapshot.getEmailFormat().getEmailFormatContents().get(0).getEmailFormat());
+        assertEquals(
+                "Hi {{name}}",
+                snapshot.getSmsFormat()
+                        .getLocalizedStringTemplate()
+                        .getLocalizedTemplateStrings()
+                        .get(0)
+                        .getTemplate());
+    }
+
+    @Test
+    void get_IndexesLocalizedTemplatesWithDefaultLocaleFallback() {
+        MessageTemplate snapshot = cache.get("key", this::load).orElseThrow();
+        LocalizedStringTemplate smsTemplate = snapshot.getSmsFormat().getLocalizedStringTemplate();
+
+        assertSame(
+                smsTemplate.getLocalizedTemplateStrings().get(0),
+                smsTemplate.getLanguageIndex().resolve("fr-CA").orElseThrow());
+    }
+
+    @Test
+    void onTemplateCacheInvalidation_ReloadsTemplate() {
+        MessageTemplate first = cache.get("key", this::load).orElseThrow();
+
+        cache.onTemplateCacheInvalidation(
+                new TemplateCacheInvalidationEvent(ResourceType.EMAIL_LAYOUT, "key"));
+        assertSame(first, cache.get("key", this::load).orElseThrow());
+
+        cache.onTemplateCacheInvalidation(
+                new TemplateCacheInvalidationEvent(ResourceType.MESSAGE_TEMPLATE, "key"));
+        assertNotSame(first, cache.get("key", this::load).orElseThrow());
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<MessageTemplate> load(String key) {
+        loads.incrementAndGet();
+
+        LocalizedStringTemplate smsTemplate = localizedTemplate("Hi {{name}}");
+        LocalizedStringTemplate contentTemplate = localizedTemplate("Welcome {{name}}");
+        EmailFormat emailFormat =
+                EmailFormat.builder()
+                        .localizedSubjectStringTemplate(localizedTemplate("Subject"))
+                        .build();
+        EmailFormatContent content =
+                EmailFormatContent.builder()
+                        .emailFormat(emailFormat)
+                        .emailLayoutInput("body")
+                        .localizedStringTemplate(contentTemplate)
+                        .build();
+        emailFormat.setEmailFormatContents(new ArrayList<>(List.of(content)));
+
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("name", "String");
+        return Optional.of(
+                MessageTemplate.builder()
+                        .key(key)
+                        .version(0)
+                        .parameters(parameters)
+                        .smsFormat(SmsFormat.builder().localizedStringTemplate(smsTemplate).build())
+                        .emailFormat(emailFormat)
+                        .build());
+    }
+
+    private static LocalizedStringTemplate localizedTemplate(String template) {
+        LocalizedStringTemplateLanguage language =
+                LocalizedStringTemplateLanguage.builder().language("en").template(template).build();
+        return LocalizedStringTemplate.builder()
+                .localizedTemplateStrings(new ArrayList<>(List.of(language)))
+                .build();
+    }
+}
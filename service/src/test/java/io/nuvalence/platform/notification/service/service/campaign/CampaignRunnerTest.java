@@ -0,0 +1,164 @@
+package io.nuvalence.platform.notification.service.service.campaign;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import io.nuvalence.platform.notification.service.domain.Campaign;
+import io.nuvalence.platform.notification.service.domain.MessageTemplate;
+import io.nuvalence.platform.notification.service.exception.BadDataException;
+import io.nuvalence.platform.notification.service.exception.NotFoundException;
+import io.nuvalence.platform.notification.service.repository.CampaignRecipientRepository;
+import io.nuvalence.platform.notification.service.service.TemplateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@SpringBootTest(properties = "campaign.chunkSize=2")
+@ActiveProfiles("test")
+class CampaignRunnerTest {
+
+    private static final String TEMPLATE_KEY = "campaign-template";
+
+    @Autowired private CampaignService campaignService;
+
+    @Autowired private CampaignRunner campaignRunner;
+
+    @Autowired private CampaignRecipientRepository recipientRepository;
+
+    @MockBean private TemplateService templateService;
+
+    @BeforeEach
+    void setUp() {
+        MessageTemplate template =
+                MessageTemplate.builder()
+                        .key(TEMPLATE_KEY)
+                        .parameters(Map.of("name", "String"))
+                        .build();
+        when(templateService.getTemplate(TEMPLATE_KEY)).thenReturn(Optional.of(template));
+        // campaigns left running by other tests would otherwise be expanded first
+        drain();
+    }
+
+    @Test
+    void expandChunk_ExpandsRecipientsInChunksUntilCompleted() {
+        Campaign campaign =
+                campaignService.create(
+                        campaign(Map.of("name", "Mr Bean")),
+                        List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString()));
+        campaignService.addRecipients(
+                campaign.getId(), file(UUID.randomUUID() + "\n\n" + UUID.randomUUID() + "\n"));
+        campaignService.addRecipients(campaign.getId(), file(UUID.randomUUID().toString()));
+        assertEquals(5, campaignService.start(campaign.getId()).getTotalRecipients());
+
+        assertEquals(2, campaignRunner.expandChunk());
+        Campaign inProgress = campaignService.findBy(campaign.getId()).orElseThrow();
+        assertEquals(Campaign.RUNNING_STATUS, inProgress.getStatus());
+        assertEquals(2, inProgress.getProcessedRecipients());
+
+        drain();
+
+        Campaign completed = campaignService.findBy(campaign.getId()).orElseThrow();
+        assertEquals(Campaign.COMPLETED_STATUS, completed.getStatus());
+        assertEquals(5, completed.getProcessedRecipients());
+        assertEquals(5, completed.getAcceptedMessages());
+        assertEquals(0, completed.getRejectedMessages());
+        assertNotNull(completed.getCompletedTimestamp());
+        assertEquals(
+                0,
+                recipientRepository
+                        .findByCampaignIdOrderBySequenceNumber(
+                                campaign.getId(), PageRequest.of(0, 1))
+                        .size());
+    }
+
+    @Test
+    void expandChunk_CountsRejectedMessages() {
+        Campaign campaign =
+                campaignService.create(
+                        campaign(Map.of()),
+                        List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString()));
+        campaignService.start(campaign.getId());
+
+        drain();
+
+        Campaign completed = campaignService.findBy(campaign.getId()).orElseThrow();
+        assertEquals(Campaign.COMPLETED_STATUS, completed.getStatus());
+        assertEquals(0, completed.getAcceptedMessages());
+        assertEquals(2, completed.getRejectedMessages());
+    }
+
+    @Test
+    void create_RejectsUnknownTemplate() {
+        Campaign campaign = Campaign.builder().messageTemplateKey("unknown").build();
+
+        assertThrows(NotFoundException.class, () -> campaignService.create(campaign, List.of()));
+    }
+
+    @Test
+    void addRecipients_RejectsWholeFileWithInvalidLine() {
+        Campaign campaign = campaignService.create(campaign(Map.of()), List.of());
+
+        assertThrows(
+                BadDataException.class,
+                () ->
+                        campaignService.addRecipients(
+                                campaign.getId(), file(UUID.randomUUID() + "\nnot-a-user\n")));
+        assertEquals(
+                0, campaignService.findBy(campaign.getId()).orElseThrow().getTotalRecipients());
+    }
+
+    @Test
+    void addRecipients_RejectsStartedCampaign() {
+        Campaign campaign =
+                campaignService.create(campaign(Map.of()), List.of(UUID.randomUUID().toString()));
+        campaignService.start(campaign.getId());
+
+        assertThrows(
+                BadDataException.class,
+                () ->
+                        campaignService.addRecipients(
+                                campaign.getId(), file(UUID.randomUUID().toString())));
+        assertThrows(BadDataException.class, () -> campaignService.start(campaign.getId()));
+        drain();
+    }
+
+    @Test
+    void start_RejectsCampaignWithoutRecipients() {
+        Campaign campaign = campaignService.create(campaign(Map.of()), List.of());
+
+        assertThrows(BadDataException.class, () -> campaignService.start(campaign.getId()));
+    }
+
+    private void drain() {
+        int expanded;
+        do {
+            expanded = campaignRunner.expandChunk();
+        } while (expanded > 0);
+    }
+
+    private static Campaign campaign(Map<String, String> parameters) {
+        return Campaign.builder()
+                .messageTemplateKey(TEMPLATE_KEY)
+                .parameters(new HashMap<>(parameters))
+                .build();
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile(
+                "file", "recipients.txt", "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,154 @@
+package io.nuvalence.platform.notification.service.service.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.nuvalence.platform.notification.service.config.PubSubOutboundConfig;
+import io.nuvalence.platform.notification.service.domain.Message;
+import io.nuvalence.platform.notification.service.domain.MessageOutboxEntry;
+import io.nuvalence.platform.notification.service.repository.MessageOutboxRepository;
+import io.nuvalence.platform.notification.service.repository.MessageRepository;
+import io.nuvalence.platform.notification.service.service.PubSubService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.scheduling.annotation.AsyncResult;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MessageOutboxRelayTest {
+
+    @Autowired private MessageOutboxRelay relay;
+
+    @Autowired private MessageOutbox messageOutbox;
+
+    @Autowired private MessageOutboxRepository outboxRepository;
+
+    @Autowired private MessageRepository messageRepository;
+
+    @Autowired private PubSubService pubSubService;
+
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @MockBean private PubSubOutboundConfig.MessagePublisher messagePublisher;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void relayBatch_PublishesAndRemovesEntries() {
+        final MessageOutboxEntry first = enqueue();
+        final MessageOutboxEntry second = enqueue();
+        when(messagePublisher.publish(anyString())).thenReturn(AsyncResult.forValue("id"));
+
+        assertEquals(2, relay.relayBatch());
+
+        verify(messagePublisher).publish(first.getPayload());
+        verify(messagePublisher).publish(second.getPayload());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void relayBatch_KeepsEntriesThatFailedToPublish() {
+        MessageOutboxEntry published = enqueue();
+        MessageOutboxEntry failed = enqueue();
+        when(messagePublisher.publish(published.getPayload()))
+                .thenReturn(AsyncResult.forValue("id"));
+        when(messagePublisher.publish(failed.getPayload()))
+                .thenReturn(AsyncResult.forExecutionException(new IllegalStateException("down")));
+
+        assertEquals(1, relay.relayBatch());
+
+        assertTrue(outboxRepository.findById(published.getId()).isEmpty());
+        Optional<MessageOutboxEntry> remaining = outboxRepository.findById(failed.getId());
+        assertTrue(remaining.isPresent());
+        assertEquals(1, remaining.get().getAttempts());
+
+        // not retried before its backoff has passed
+        assertEquals(0, relay.relayBatch());
+        verify(messagePublisher, times(1)).publish(failed.getPayload());
+    }
+
+    @Test
+    void relayBatch_StopsPublishingAnEntryThatUsedUpItsAttempts() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MessageOutboxRelay retryingRelay =
+                new MessageOutboxRelay(
+                        outboxRepository,
+                        messageRepository,
+                        pubSubService,
+                        transactionManager,
+                        meterRegistry,
+                        false,
+                        1,
+                        Duration.ofHours(1),
+                        10,
+                        Duration.ofSeconds(5),
+                        2,
+                        Duration.ZERO);
+        MessageOutboxEntry poison = enqueue();
+        when(messagePublisher.publish(poison.getPayload()))
+                .thenReturn(AsyncResult.forExecutionException(new IllegalStateException("bad")));
+
+        assertEquals(0, retryingRelay.relayBatch());
+        assertEquals(0, retryingRelay.relayBatch());
+        assertEquals(0, retryingRelay.relayBatch());
+
+        verify(messagePublisher, times(2)).publish(poison.getPayload());
+        Optional<MessageOutboxEntry> parked = outboxRepository.findById(poison.getId());
+        assertTrue(parked.isPresent());
+        assertEquals(2, parked.get().getAttempts());
+        assertEquals(
+                "FAILED",
+                messageRepository.findById(poison.getMessageId()).orElseThrow().getStatus());
+        assertEquals(1.0, meterRegistry.counter("notification.outbox.abandoned").count());
+    }
+
+    @Test
+    void relayBatch_DoesNothingWhenOutboxIsEmpty() {
+        assertEquals(0, relay.relayBatch());
+
+        verify(messagePublisher, never()).publish(anyString());
+    }
+
+    private MessageOutboxEntry enqueue() {
+        Message message =
+                messageRepository.save(
+                        Message.builder()
+                                .userId(UUID.randomUUID().toString())
+                                .messageTemplateKey("key")
+                                .status("QUEUED")
+                                .parameters(Map.of("parameter", "value"))
+                                .requestedTimestamp(OffsetDateTime.now())
+                                .build());
+        messageOutbox.enqueue(message);
+        return findEntry(message.getId());
+    }
+
+    private MessageOutboxEntry findEntry(UUID messageId) {
+        for (MessageOutboxEntry entry : outboxRepository.findAll()) {
+            if (entry.getMessageId().equals(messageId)) {
+                return entry;
+            }
+        }
+        throw new IllegalStateException("Message " + messageId + " was not queued");
+    }
+}
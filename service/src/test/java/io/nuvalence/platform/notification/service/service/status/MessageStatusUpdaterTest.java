@@ -0,0 +1,235 @@
+package io.nuvalence.platform.notification.service.service.status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.nuvalence.platform.notification.service.domain.Message;
+import io.nuvalence.platform.notification.service.model.ProviderResponse;
+import io.nuvalence.platform.notification.service.repository.MessageRepository;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkheads;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@SpringBootTest(properties = {"messageStatus.batchSize=2", "messageStatus.flushInterval=1h"})
+@ActiveProfiles("test")
+class MessageStatusUpdaterTest {
+
+    @TempDir Path tempDir;
+
+    @Autowired private MessageStatusUpdater messageStatusUpdater;
+
+    @Autowired private MessageRepository messageRepository;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Autowired private Bulkheads bulkheads;
+
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void flush_CoalescesChangesOfAMessageIntoTheLatest() {
+        Message message = saveMessage();
+
+        messageStatusUpdater.update(message.getId(), "SENT");
+        messageStatusUpdater.update(message.getId(), "UNPROCESSABLE");
+
+        assertEquals(1, messageStatusUpdater.flush());
+        assertEquals("UNPROCESSABLE", statusOf(message));
+    }
+
+    @Test
+    void flush_WritesQueuedChangesInBatches() {
+        Message first = saveMessage();
+        Message second = saveMessage();
+        Message third = saveMessage();
+
+        messageStatusUpdater.update(first.getId(), "SENT");
+        messageStatusUpdater.update(second.getId(), "UNPROCESSABLE");
+        messageStatusUpdater.update(third.getId(), "SENT");
+
+        assertEquals(2, messageStatusUpdater.flush());
+        assertEquals("SENT", statusOf(first));
+        assertEquals("UNPROCESSABLE", statusOf(second));
+        assertEquals("QUEUED", statusOf(third));
+
+        assertEquals(1, messageStatusUpdater.flush());
+        assertEquals("SENT", statusOf(third));
+        assertEquals(0, messageStatusUpdater.flush());
+    }
+
+    @Test
+    void flush_RecordsAttemptsAndProviderResponse() {
+        Message message = saveMessage();
+        OffsetDateTime sentTimestamp = OffsetDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        messageStatusUpdater.recordFailedAttempt(message.getId());
+        messageStatusUpdater.update(
+                message.getId(),
+                "SENT",
+                new ProviderResponse("provider-id", sentTimestamp, Duration.ofMillis(250)));
+
+        assertEquals(1, messageStatusUpdater.flush());
+        Message sent = messageRepository.findById(message.getId()).orElseThrow();
+        assertEquals("SENT", sent.getStatus());
+        assertEquals(2, sent.getAttemptCount());
+        assertEquals("provider-id", sent.getProviderMessageId());
+        assertEquals(250L, sent.getProviderResponseTimeMillis());
+        assertTrue(sentTimestamp.isEqual(sent.getSentTimestamp()));
+    }
+
+    @Test
+    void offer_SavesChangesOnceTheQueueFillsBehindAFailedWrite() {
+        Path fallbackFile = tempDir.resolve("message-status-fallback.csv");
+        final Message first = saveMessage();
+        final Message second = saveMessage();
+        final Message third = saveMessage();
+        final Message overflow = saveMessage();
+
+        JdbcTemplate recovering = spy(jdbcTemplate);
+        doThrow(new DataAccessResourceFailureException("database unavailable"))
+                .when(recovering)
+                .batchUpdate(
+                        anyString(),
+                        anyList(),
+                        anyInt(),
+                        any(ParameterizedPreparedStatementSetter.class));
+        MessageStatusUpdater updater =
+                new MessageStatusUpdater(
+                        recovering,
+                        bulkheads,
+                        transactionManager,
+                        2,
+                        2,
+                        Duration.ofHours(1),
+                        fallbackFile);
+
+        updater.update(first.getId(), "SENT");
+        assertEquals(0, updater.flush());
+
+        // the queue is left alone while the pending change cannot be written, so it fills up
+        updater.update(second.getId(), "SENT");
+        updater.update(third.getId(), "SENT");
+        assertEquals(0, updater.flush());
+        updater.update(overflow.getId(), "SENT");
+
+        assertTrue(Files.exists(fallbackFile));
+        verify(recovering, times(2))
+                .batchUpdate(
+                        anyString(),
+                        anyList(),
+                        anyInt(),
+                        any(ParameterizedPreparedStatementSetter.class));
+
+        doCallRealMethod()
+                .when(recovering)
+                .batchUpdate(
+                        anyString(),
+                        anyList(),
+                        anyInt(),
+                        any(ParameterizedPreparedStatementSetter.class));
+        int written = 0;
+        for (int flushed = updater.flush(); flushed > 0; flushed = updater.flush()) {
+            written += flushed;
+        }
+
+        assertEquals(4, written);
+        assertFalse(Files.exists(fallbackFile));
+        for (Message message : List.of(first, second, third, overflow)) {
+            assertEquals("SENT", statusOf(message));
+        }
+    }
+
+    @Test
+    void stop_SavesUnwrittenChangesForTheNextStart() {
+        Path fallbackFile = tempDir.resolve("message-status-fallback.csv");
+        Message message = saveMessage();
+
+        MessageStatusUpdater failing = updater(unavailableDatabase(), fallbackFile);
+        failing.update(
+                message.getId(),
+                "SENT",
+                new ProviderResponse("provider-id", OffsetDateTime.now(), Duration.ofMillis(5)));
+        assertEquals(0, failing.flush());
+        failing.stop();
+
+        assertTrue(Files.exists(fallbackFile));
+        assertEquals("QUEUED", statusOf(message));
+
+        MessageStatusUpdater restarted = updater(jdbcTemplate, fallbackFile);
+        restarted.start();
+        try {
+            assertFalse(Files.exists(fallbackFile));
+            assertEquals(1, restarted.flush());
+            assertEquals("SENT", statusOf(message));
+            assertEquals(
+                    "provider-id",
+                    messageRepository
+                            .findById(message.getId())
+                            .orElseThrow()
+                            .getProviderMessageId());
+        } finally {
+            restarted.stop();
+        }
+        assertFalse(Files.exists(fallbackFile));
+    }
+
+    private static JdbcTemplate unavailableDatabase() {
+        JdbcTemplate unavailable = mock(JdbcTemplate.class);
+        when(unavailable.batchUpdate(
+                        anyString(),
+                        anyList(),
+                        anyInt(),
+                        any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database unavailable"));
+        return unavailable;
+    }
+
+    private MessageStatusUpdater updater(JdbcTemplate template, Path fallbackFile) {
+        return new MessageStatusUpdater(
+                template, bulkheads, transactionManager, 10, 10, Duration.ofHours(1), fallbackFile);
+    }
+
+    private Message saveMessage() {
+        return messageRepository.save(
+                Message.builder()
+                        .id(UUID.randomUUID())
+                        .userId(UUID.randomUUID().toString())
+                        .messageTemplateKey("key")
+                        .status("QUEUED")
+                        .parameters(Map.of())
+                        .requestedTimestamp(OffsetDateTime.now())
+                        .build());
+    }
+
+    private String statusOf(Message message) {
+        return messageRepository.findById(message.getId()).orElseThrow().getStatus();
+    }
+}
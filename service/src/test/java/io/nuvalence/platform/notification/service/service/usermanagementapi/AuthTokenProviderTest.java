@@ -1,17 +1,26 @@
 package io.nuvalence.platform.notification.service.service.usermanagementapi;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.nuvalence.auth.token.SelfSignedTokenGenerator;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 class AuthTokenProviderTest {
 
     @Test
     void testGetToken() {
-        AuthTokenProvider authTokenProvider = new AuthTokenProvider();
+        AuthTokenProvider authTokenProvider = new AuthTokenProvider(new SimpleMeterRegistry());
 
         SelfSignedTokenGenerator generator = Mockito.mock(SelfSignedTokenGenerator.class);
         Mockito.when(generator.generateToken(Mockito.any(String.class), Mockito.anyList()))
@@ -21,4 +30,51 @@ class AuthTokenProviderTest {
         assertNotNull(authTokenProvider.getToken());
         Mockito.verify(generator).generateToken(Mockito.any(String.class), Mockito.anyList());
     }
+
+    @Test
+    void testGetToken_ConcurrentCallersGenerateOnce() throws Exception {
+        AuthTokenProvider authTokenProvider = new AuthTokenProvider(new SimpleMeterRegistry());
+
+        SelfSignedTokenGenerator generator = Mockito.mock(SelfSignedTokenGenerator.class);
+        Mockito.when(generator.generateToken(Mockito.any(String.class), Mockito.anyList()))
+                .thenReturn("token");
+        ReflectionTestUtils.setField(authTokenProvider, "generator", generator);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> tokens = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tokens.add(
+                    executor.submit(
+                            () -> {
+                                start.await();
+                                return authTokenProvider.getToken();
+                            }));
+        }
+        start.countDown();
+        for (Future<String> token : tokens) {
+            assertEquals("token", token.get());
+        }
+        executor.shutdown();
+
+        Mockito.verify(generator).generateToken(Mockito.any(String.class), Mockito.anyList());
+    }
+
+    @Test
+    void testRefreshInBackground() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuthTokenProvider authTokenProvider = new AuthTokenProvider(meterRegistry);
+
+        SelfSignedTokenGenerator generator = Mockito.mock(SelfSignedTokenGenerator.class);
+        Mockito.when(generator.generateToken(Mockito.any(String.class), Mockito.anyList()))
+                .thenReturn("token1", "token2");
+        ReflectionTestUtils.setField(authTokenProvider, "generator", generator);
+
+        authTokenProvider.refreshInBackground();
+        assertEquals("token1", authTokenProvider.getToken());
+        authTokenProvider.refreshInBackground();
+        assertEquals("token2", authTokenProvider.getToken());
+
+        assertEquals(2, meterRegistry.get("auth.token.refresh").timer().count());
+    }
 }
@@ -0,0 +1,151 @@
+package io.nuvalence.platform.notification.service.service.usermanagementapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.nuvalence.platform.notification.usermanagent.client.ApiException;
+import io.nuvalence.platform.notification.usermanagent.client.generated.models.UserDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class UserLookupBatcherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final Map<UUID, AtomicInteger> fetches = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(16);
+
+    private UserLookupBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        batcher.shutdown();
+    }
+
+    @Test
+    void lookup_CoalescesDuplicatesAndBoundsParallelism() throws Exception {
+        batcher = new UserLookupBatcher(Duration.ofMillis(50), 100, 2, TIMEOUT);
+        List<UUID> userIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        List<Future<Optional<UserDTO>>> results = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            UUID userId = userIds.get(i % userIds.size());
+            results.add(callers.submit(() -> batcher.lookup(userId, this::fetch)));
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            Optional<UserDTO> user = results.get(i).get();
+            assertTrue(user.isPresent());
+            assertEquals(userIds.get(i % userIds.size()), user.get().getId());
+        }
+        userIds.forEach(userId -> assertEquals(1, fetches.get(userId).get()));
+        assertTrue(maxInFlight.get() <= 2);
+    }
+
+    @Test
+    void lookup_PropagatesApiException() {
+        batcher = new UserLookupBatcher(Duration.ofMillis(1), 100, 2, TIMEOUT);
+
+        ApiException exception =
+                assertThrows(
+                        ApiException.class,
+                        () ->
+                                batcher.lookup(
+                                        UUID.randomUUID(),
+                                        userId -> {
+                                            throw new ApiException(500, "error");
+                                        }));
+        assertEquals(500, exception.getCode());
+    }
+
+    @Test
+    void lookup_WithoutWindowCallsLoaderDirectly() throws Exception {
+        batcher = new UserLookupBatcher(Duration.ZERO, 100, 2, TIMEOUT);
+        UUID userId = UUID.randomUUID();
+
+        assertEquals(userId, batcher.lookup(userId, this::fetch).orElseThrow().getId());
+        assertEquals(1, fetches.get(userId).get());
+    }
+
+    @Test
+    void lookup_TimesOutWaitingForItsBatch() {
+        batcher = new UserLookupBatcher(Duration.ofMillis(1), 100, 2, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+
+        ApiException exception =
+                assertThrows(
+                        ApiException.class,
+                        () ->
+                                batcher.lookup(
+                                        UUID.randomUUID(),
+                                        userId -> {
+                                            awaitQuietly(release);
+                                            return Optional.empty();
+                                        }));
+        assertTrue(exception.getMessage().contains("timed out"));
+        release.countDown();
+    }
+
+    @Test
+    void shutdown_FailsLookupsNotDispatchedYet() throws Exception {
+        batcher = new UserLookupBatcher(Duration.ofMinutes(1), 100, 2, Duration.ofMinutes(1));
+        Future<Optional<UserDTO>> result =
+                callers.submit(() -> batcher.lookup(UUID.randomUUID(), this::fetch));
+        // give the lookup time to join the pending batch; failing on shutdown either way
+        Thread.sleep(100);
+
+        batcher.shutdown();
+
+        ExecutionException exception =
+                assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ApiException.class, exception.getCause());
+        assertThrows(ApiException.class, () -> batcher.lookup(UUID.randomUUID(), this::fetch));
+        assertTrue(fetches.isEmpty());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Optional<UserDTO> fetch(UUID userId) {
+        fetches.computeIfAbsent(userId, id -> new AtomicInteger()).incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        UserDTO user = new UserDTO();
+        user.setId(userId);
+        return Optional.of(user);
+    }
+}
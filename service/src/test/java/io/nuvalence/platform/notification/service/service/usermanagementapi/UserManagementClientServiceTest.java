@@ -0,0 +1,128 @@
+package io.nuvalence.platform.notification.service.service.usermanagementapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.nuvalence.platform.notification.service.service.bulkhead.Bulkheads;
+import io.nuvalence.platform.notification.usermanagent.client.generated.models.UserDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@ExtendWith(MockitoExtension.class)
+class UserManagementClientServiceTest {
+
+    private static final UUID KNOWN_USER = UUID.randomUUID();
+
+    private static final UUID BROKEN_USER = UUID.randomUUID();
+
+    @Mock private AuthTokenProvider authTokenProvider;
+
+    private final List<String> authorizationHeaders = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+
+    private UserCache userCache;
+
+    private UserManagementClientService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(
+                "/api/v1/users/",
+                exchange -> {
+                    authorizationHeaders.add(
+                            exchange.getRequestHeaders().getFirst("authorization"));
+                    String path = exchange.getRequestURI().getPath();
+                    int status = 404;
+                    String json = "{}";
+                    if (path.endsWith(KNOWN_USER.toString())) {
+                        status = 200;
+                        json = "{\"id\":\"" + KNOWN_USER + "\",\"email\":\"user@test.com\"}";
+                    } else if (path.endsWith(BROKEN_USER.toString())) {
+                        status = 500;
+                    }
+                    byte[] body = json.getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(status, body.length);
+                    try (OutputStream os = exchange.getResponseBody()) {
+                        os.write(body);
+                    }
+                });
+        server.start();
+
+        userCache =
+                new UserCache(
+                        10,
+                        Duration.ofMinutes(1),
+                        Duration.ofMinutes(1),
+                        new SimpleMeterRegistry());
+        service =
+                new UserManagementClientService(
+                        "http://localhost:" + server.getAddress().getPort(),
+                        Duration.ofSeconds(1),
+                        Duration.ofSeconds(1),
+                        false,
+                        2,
+                        authTokenProvider,
+                        userCache,
+                        new UserLookupBatcher(Duration.ZERO, 1, 1, Duration.ofSeconds(10)),
+                        new Bulkheads(1, 1, 1, 1, Duration.ofSeconds(1), new SimpleMeterRegistry()),
+                        new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdownExecutor();
+        server.stop(0);
+    }
+
+    @Test
+    void getUser_CachesUser() throws Exception {
+        when(authTokenProvider.getToken()).thenReturn("token");
+
+        Optional<UserDTO> first = service.getUser(KNOWN_USER);
+        Optional<UserDTO> second = service.getUser(KNOWN_USER);
+
+        assertTrue(first.isPresent());
+        assertEquals("user@test.com", first.get().getEmail());
+        assertEquals(first, second);
+        assertEquals(List.of("Bearer token"), authorizationHeaders);
+    }
+
+    @Test
+    void getUser_NotFoundIsCached() throws Exception {
+        when(authTokenProvider.getToken()).thenReturn("token");
+        UUID unknownUser = UUID.randomUUID();
+
+        assertTrue(service.getUser(unknownUser).isEmpty());
+        assertTrue(service.getUser(unknownUser).isEmpty());
+        assertEquals(1, authorizationHeaders.size());
+    }
+
+    @Test
+    void getUser_ErrorIsNotCached() throws Exception {
+        when(authTokenProvider.getToken()).thenReturn("token");
+
+        assertTrue(service.getUser(BROKEN_USER).isEmpty());
+        assertTrue(service.getUser(BROKEN_USER).isEmpty());
+        assertEquals(2, authorizationHeaders.size());
+    }
+}
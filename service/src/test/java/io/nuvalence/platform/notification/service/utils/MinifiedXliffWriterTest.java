@@ -0,0 +1,60 @@
+package io.nuvalence.platform.notification.service.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.nuvalence.platform.notification.service.exception.BadDataException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+class MinifiedXliffWriterTest {
+
+    @Test
+    void writesMinifiedDocument() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (MinifiedXliffWriter writer = new MinifiedXliffWriter(output)) {
+            writer.startDocument("origin", "en", "es", "x-plaintext", " comment ");
+            writer.startGroup("key");
+            writer.writeTransUnit("message", "Hello <b>{{name}}</b> & bye", null);
+            writer.endGroup();
+            writer.endDocument();
+        }
+
+        String xliff = output.toString(StandardCharsets.UTF_8);
+        String body =
+                "<group id=\"key\" resname=\"key\"><trans-unit id=\"message\" resname=\"message\">"
+                        + "<source xml:lang=\"en\">Hello &lt;b>{{name}}&lt;/b> &amp; bye</source>"
+                        + "<target xml:lang=\"es\"></target></trans-unit></group>";
+        assertEquals(
+                "<?xml version='1.0' encoding='UTF-8'?>"
+                        + "<xliff xmlns=\"urn:oasis:names:tc:xliff:document:1.2\" version=\"1.2\">"
+                        + "<!-- comment --><file original=\"origin\" source-language=\"en\""
+                        + " target-language=\"es\" datatype=\"x-plaintext\"><body>"
+                        + body
+                        + "</body></file></xliff>",
+                xliff);
+        // the output is a valid document as it is
+        XmlUtils.xmlValidateAndMinify(xliff);
+    }
+
+    @Test
+    void rejectsCharactersNotAllowedInXml() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (MinifiedXliffWriter writer = new MinifiedXliffWriter(output)) {
+            writer.startDocument("origin", "en", "es", "x-plaintext", " comment ");
+            writer.startGroup("key");
+
+            BadDataException exception =
+                    assertThrows(
+                            BadDataException.class,
+                            () -> writer.writeTransUnit("message", "bell \u0007", "campana"));
+            assertEquals(
+                    "Localization data contains a character not allowed in XML: U+0007",
+                    exception.getMessage());
+        }
+    }
+}